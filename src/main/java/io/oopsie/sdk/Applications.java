@@ -1,22 +1,33 @@
 package io.oopsie.sdk;
 
 import io.oopsie.sdk.error.NotFoundInModelException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /**
- * Holds all applications for a {@link Site}.
+ * Holds all applications for a {@link Site}. An {@link Application} is built
+ * from the site model on first access, and its raw tree is dropped once built.
  */
 public class Applications {
     
-    private final Map<String, Application> applications;
+    private final Set<String> names;
+    private final Map<String, Map> rawApplications;
+    private final Map<String, Application> applications = new ConcurrentHashMap<>();
+    private final SchemaSignature signature;
 
     /**
      * Creates an new Applications.
-     * @param applications the applications
+     * @param rawApplications the raw applications of the site model mapped to their names
+     * @param signature the signature of the raw applications
      */
-    Applications(Map<String, Application> applications) {
-        this.applications = applications;
+    Applications(Map<String, Map> rawApplications, SchemaSignature signature) {
+        this.names = Collections.unmodifiableSet(new LinkedHashSet<>(rawApplications.keySet()));
+        this.rawApplications = new ConcurrentHashMap<>(rawApplications);
+        this.signature = signature;
     }
     
     /**
@@ -26,10 +37,19 @@ public class Applications {
      * @throws NotFoundInModelException if application not found
      */
     public final Application getApplication(String name) throws NotFoundInModelException {
-        if(!applications.containsKey(name)) {
+        if(!names.contains(name)) {
             throw new NotFoundInModelException("'" + name + "' not part of this site model.");
         }
-        return this.applications.get(name);
+        return this.applications.computeIfAbsent(name,
+                appName -> InitParser.parseApp(appName, rawApplications.remove(appName)));
+    }
+    
+    /**
+     * Internally used by SDK to get the signature of the model, telling models apart.
+     * @return the signature
+     */
+    SchemaSignature signature() {
+        return signature;
     }
     
     /**
@@ -37,6 +57,6 @@ public class Applications {
      * @return a stream of apps.
      */
     public final Stream<Application> stream() {
-        return applications.values().stream();
+        return names.stream().map(this::getApplication);
     }
 }
@@ -0,0 +1,23 @@
+package io.oopsie.sdk;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Internally used by SDK to create the default {@link ExecutorService} for
+ * asynchronous executions. A Java 21 version of this class, found under
+ * META-INF/versions/21 in the multi-release jar, uses virtual threads instead.
+ */
+final class AsyncExecutors {
+
+    private AsyncExecutors() {
+    }
+    
+    /**
+     * Returns a new work stealing pool sized to the number of available processors.
+     * @return a new executor service
+     */
+    static ExecutorService newDefaultExecutor() {
+        return Executors.newWorkStealingPool();
+    }
+}
@@ -0,0 +1,101 @@
+package io.oopsie.sdk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds the outcome of each {@link Statement} executed by
+ * {@link Site#executeBatch(java.util.Collection) }, in the order the statements were passed in.
+ * A failing statement does not stop the batch.
+ */
+public class BatchResult {
+
+    private final List<Statement> statements;
+    private final ResultSet[] results;
+    private final Throwable[] errors;
+
+    /**
+     * Used internally by SDK to collect the outcome of a batch.
+     * @param statements the batch statements
+     */
+    BatchResult(List<Statement> statements) {
+        this.statements = Collections.unmodifiableList(statements);
+        this.results = new ResultSet[statements.size()];
+        this.errors = new Throwable[statements.size()];
+    }
+
+    void succeeded(int index, ResultSet result) {
+        results[index] = result;
+    }
+
+    void failed(int index, Throwable error) {
+        errors[index] = error;
+    }
+
+    /**
+     * Returns the number of statements in the batch.
+     * @return batch size
+     */
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * Returns the statement at index.
+     * @param index the index of the statement in the batch
+     * @return the statement
+     */
+    public Statement getStatement(int index) {
+        return statements.get(index);
+    }
+
+    /**
+     * Returns the result of the statement at index.
+     * @param index the index of the statement in the batch
+     * @return the result or null if the statement failed
+     */
+    public ResultSet getResult(int index) {
+        return results[index];
+    }
+
+    /**
+     * Returns the error of the statement at index.
+     * @param index the index of the statement in the batch
+     * @return the error or null if the statement succeeded
+     */
+    public Throwable getError(int index) {
+        return errors[index];
+    }
+
+    /**
+     * Returns true if the statement at index succeeded.
+     * @param index the index of the statement in the batch
+     * @return true if succeeded
+     */
+    public boolean isSuccessful(int index) {
+        return errors[index] == null;
+    }
+
+    /**
+     * Returns true if all statements succeeded.
+     * @return true if no statement failed
+     */
+    public boolean isSuccessful() {
+        return getFailedIndexes().isEmpty();
+    }
+
+    /**
+     * Returns the indexes of all failed statements.
+     * @return failed indexes in batch order
+     */
+    public List<Integer> getFailedIndexes() {
+        List<Integer> failed = new ArrayList<>();
+        for(int i = 0; i < errors.length; i++) {
+            if(errors[i] != null) {
+                failed.add(i);
+            }
+        }
+        return failed;
+    }
+}
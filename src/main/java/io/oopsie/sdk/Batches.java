@@ -0,0 +1,139 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementParamException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Internally used by SDK to execute many statements through a {@link Site} with a bounded
+ * number of requests in flight, see {@link Site#executeBatchAsync(java.util.Collection, int, boolean) }
+ * and {@link Site#getAllAsync(io.oopsie.sdk.Resource, java.util.Collection, int) }.
+ */
+final class Batches {
+
+    private Batches() {
+    }
+
+    /**
+     * Executes passed in statements, statements of the same entity one after another if
+     * orderedByKey.
+     *
+     * @param site the site to execute through
+     * @param statements the statements to execute
+     * @param concurrency maximum number of requests in flight
+     * @param orderedByKey true to keep the order of statements for the same entity
+     * @return A {@link CompletableFuture} {@link BatchResult}
+     */
+    static CompletableFuture<BatchResult> executeAsync(Site site, Collection<? extends Statement> statements,
+            int concurrency, boolean orderedByKey) {
+        
+        List<Statement> batch = new ArrayList<>(statements);
+        BatchResult result = new BatchResult(batch);
+        
+        List<int[]> lanes = new ArrayList<>(batch.size());
+        if(orderedByKey) {
+            Map<Object, List<Integer>> byKey = new LinkedHashMap<>();
+            for(int i = 0; i < batch.size(); i++) {
+                Statement statement = batch.get(i);
+                Object key = EntityCache.entityKey(statement.getResource(), statement.getBodyParams(),
+                        statement.getQueryparams());
+                byKey.computeIfAbsent(key != null ? key : i, k -> new ArrayList<>()).add(i);
+            }
+            byKey.values().forEach(lane -> lanes.add(lane.stream().mapToInt(Integer::intValue).toArray()));
+        } else {
+            for(int i = 0; i < batch.size(); i++) {
+                lanes.add(new int[] {i});
+            }
+        }
+        
+        return Lanes.run(lanes, concurrency, index -> {
+            CompletableFuture<ResultSet> execution;
+            try {
+                execution = site.executeAsync(batch.get(index));
+            } catch(RuntimeException ex) {
+                result.failed(index, ex);
+                return CompletableFuture.completedFuture(null);
+            }
+            return execution.whenComplete((resultSet, error) -> {
+                if(error != null) {
+                    result.failed(index, error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                } else {
+                    result.succeeded(index, resultSet);
+                }
+            });
+        }).thenApply(done -> result);
+    }
+
+    /**
+     * Fetches the entities of passed in resource identified by their primary keys, each
+     * distinct key once.
+     *
+     * @param site the site to execute through
+     * @param resource the resource
+     * @param keys the primary key values of each entity mapped to their attribute names
+     * @param concurrency maximum number of lookups in flight
+     * @return A {@link CompletableFuture} of the entities aligned to passed in keys
+     * @throws StatementParamException if any key doesn't match the resource's primary key
+     */
+    static CompletableFuture<List<Row>> getAllAsync(Site site, Resource resource,
+            Collection<Map<String, Object>> keys, int concurrency) throws StatementParamException {
+        
+        Set<String> pk = resource.getPrimaryKey().keySet();
+        PreparedStatement get = site.prepare(resource.get(), pk.toArray(new String[pk.size()]));
+        
+        // dedupe, aligned maps each key to its unique lookup
+        Map<Object, Integer> unique = new LinkedHashMap<>();
+        List<BoundStatement> lookups = new ArrayList<>();
+        int[] aligned = new int[keys.size()];
+        int i = 0;
+        for(Map<String, Object> key : keys) {
+            if(key.size() != pk.size() || !key.keySet().containsAll(pk)) {
+                throw new StatementParamException("Key " + key + " doesn't match primary key "
+                        + pk + " of '" + resource.getName() + "'.");
+            }
+            Integer lookup = unique.putIfAbsent(EntityCache.entityKey(resource, null, key), lookups.size());
+            if(lookup == null) {
+                lookup = lookups.size();
+                lookups.add(get.bind(key));
+            }
+            aligned[i++] = lookup;
+        }
+        
+        Row[] rows = new Row[lookups.size()];
+        Throwable[] firstError = new Throwable[1];
+        List<int[]> lanes = new ArrayList<>(lookups.size());
+        for(int l = 0; l < lookups.size(); l++) {
+            lanes.add(new int[] {l});
+        }
+        return Lanes.run(lanes, concurrency, l -> lookups.get(l).executeAsync().whenComplete((result, error) -> {
+            if(error != null) {
+                synchronized(firstError) {
+                    if(firstError[0] == null) {
+                        firstError[0] = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                    }
+                }
+            } else {
+                rows[l] = result.one();
+            }
+        })).thenApply(done -> {
+            synchronized(firstError) {
+                if(firstError[0] != null) {
+                    throw new CompletionException(firstError[0]);
+                }
+            }
+            List<Row> entities = new ArrayList<>(aligned.length);
+            for(int lookup : aligned) {
+                entities.add(rows[lookup]);
+            }
+            return entities;
+        });
+    }
+}
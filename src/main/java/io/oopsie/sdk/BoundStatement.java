@@ -0,0 +1,145 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.SiteInitializationException;
+import io.oopsie.sdk.error.StatementExecutionException;
+import io.oopsie.sdk.transport.TransportRequest;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An immutable execution of a {@link PreparedStatement} with values bound to its params.
+ * A bound statement can be executed any number of times, by any number of threads at once,
+ * each execution producing its own {@link ResultSet}.
+ *
+ * @see PreparedStatement#bind(java.lang.Object...)
+ */
+public final class BoundStatement {
+
+    private final PreparedStatement prepared;
+    private final Object[] values;
+
+    BoundStatement(PreparedStatement prepared, Object[] values) {
+        this.prepared = prepared;
+        this.values = values;
+    }
+
+    /**
+     * Executes this bound statement.
+     *
+     * @return the {@link ResultSet}
+     * @throws StatementExecutionException if execution could not be fullfilled
+     * @throws SiteInitializationException if the site is not initialized
+     */
+    public ResultSet execute() throws StatementExecutionException, SiteInitializationException {
+        return prepared.site().execute(this, null);
+    }
+
+    /**
+     * Executes this bound statement using user auth cookies instead of the api key.
+     *
+     * @param cookies the auth cookies
+     * @return the {@link ResultSet}
+     * @throws StatementExecutionException if execution could not be fullfilled
+     * @throws SiteInitializationException if the site is not initialized
+     */
+    public ResultSet execute(List<String> cookies) throws StatementExecutionException,
+            SiteInitializationException {
+        return prepared.site().execute(this, cookies);
+    }
+
+    /**
+     * Executes this bound statement asynchronously.
+     *
+     * @return A {@link CompletableFuture} {@link ResultSet}
+     * @throws SiteInitializationException if the site is not initialized
+     * @see Site#executeAsync(io.oopsie.sdk.Statement)
+     */
+    public CompletableFuture<ResultSet> executeAsync() throws SiteInitializationException {
+        return prepared.site().executeAsync(this, null);
+    }
+
+    /**
+     * Executes this bound statement asynchronously using user auth cookies instead of the api key.
+     *
+     * @param cookies the auth cookies
+     * @return A {@link CompletableFuture} {@link ResultSet}
+     * @throws SiteInitializationException if the site is not initialized
+     */
+    public CompletableFuture<ResultSet> executeAsync(List<String> cookies) throws SiteInitializationException {
+        return prepared.site().executeAsync(this, cookies);
+    }
+
+    /**
+     * Returns the prepared statement this statement is bound from.
+     * @return the prepared statement
+     */
+    public PreparedStatement getPreparedStatement() {
+        return prepared;
+    }
+
+    /**
+     * Returns the value bound to the param at passed in index.
+     * @param index the param index, as in {@link PreparedStatement#getParamNames() }
+     * @return the bound value
+     */
+    public Object getValue(int index) {
+        return values[index];
+    }
+
+    Resource resource() {
+        return prepared.getResource();
+    }
+
+    String view() {
+        return prepared.view();
+    }
+
+    /**
+     * Returns all query params of this execution.
+     */
+    Map<String, Object> queryParams() {
+        return prepared.queryParams(values);
+    }
+
+    /**
+     * Returns the body params of this execution or null.
+     */
+    Map<String, Object> bodyParams() {
+        return prepared.bodyParams(values);
+    }
+
+    /**
+     * Builds the request of this execution.
+     *
+     * @param cookies user auth cookies or null to use the prepared statement's api key
+     * @return the request
+     * @throws StatementExecutionException if the body can't be written
+     */
+    TransportRequest request(List<String> cookies) throws StatementExecutionException {
+
+        Map<String, List<String>> headers = prepared.headers();
+        Map<String, Object> body = bodyParams();
+        if(cookies != null || body != null) {
+            headers = new LinkedHashMap<>(headers);
+            if(cookies != null) {
+                headers.remove("Authorization");
+                headers.put("Cookie", Arrays.asList(cookies.get(0), cookies.get(1)));
+            }
+        }
+
+        byte[] bytes = null;
+        if(body != null) {
+            try {
+                bytes = Json.write(body);
+            } catch(IOException ex) {
+                throw new StatementExecutionException("Severe: " + ex.getMessage());
+            }
+            headers.put("Content-Type", Http.APPLICATION_JSON);
+        }
+        return new TransportRequest(prepared.requestMethod(), prepared.uri(values), headers, bytes);
+    }
+}
@@ -0,0 +1,166 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.DataTypeException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A typed handle to a {@link Resource} attribute, used to read the attribute's value
+ * from {@link Row}s. The Java type is validated against the attribute's {@link DataType}
+ * once, when the handle is created, and the column index is resolved once per
+ * {@link ResultSet}, so reading a value involves no name lookups or type checks.
+ * Timestamp attributes can be read as {@link Date} or as {@link Instant}, the latter
+ * returning the stored value without allocating a Date.
+ * Handles are thread safe and meant to be created once and reused.
+ * 
+ * @param <T> the Java type of the column values
+ * @see Resource#column(java.lang.String, java.lang.Class) 
+ */
+public final class Column<T> {
+    
+    private final String name;
+    private final DataType type;
+    private final Class<T> javaType;
+    private final boolean stored;
+    private volatile Binding binding;
+
+    /**
+     * Used internally to create a column handle for an attribute.
+     * 
+     * @param attribute the attribute
+     * @param javaType the Java type to read values as
+     * @throws DataTypeException if the attribute's data type can't be read as javaType
+     */
+    Column(Attribute attribute, Class<T> javaType) throws DataTypeException {
+        
+        Class<?> valueType = javaTypeOf(attribute.getType());
+        // timestamps are stored as Instant, read as Date unless asked for an Instant
+        boolean stored = valueType == Date.class && !javaType.isAssignableFrom(Date.class)
+                && javaType.isAssignableFrom(Instant.class);
+        if(valueType == null || !stored && !javaType.isAssignableFrom(valueType)) {
+            throw new DataTypeException(
+                    "Can't cast " + attribute.getType().getHumanName() + " to "
+                            + javaType.getSimpleName() + ".");
+        }
+        this.name = attribute.getName();
+        this.type = attribute.getType();
+        this.javaType = javaType;
+        this.stored = stored;
+    }
+    
+    /**
+     * Returns the column name, i.e. the attribute name.
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the data type of the column.
+     * @return the data type
+     */
+    public DataType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the Java type values are read as.
+     * @return the Java type
+     */
+    public Class<T> getJavaType() {
+        return javaType;
+    }
+    
+    /**
+     * Returns the value of this column in passed in row.
+     * 
+     * @param row the row to read from
+     * @return the value, might be null
+     * @throws IllegalArgumentException if this column is not part of the row
+     */
+    public T get(Row row) throws IllegalArgumentException {
+        int col = indexIn(row.columns());
+        return (T)(stored ? row.storedValue(col) : row.value(col));
+    }
+    
+    /**
+     * Returns the index of this column in the rows sharing passed in column index.
+     * The index is cached until rows of another {@link ResultSet} are read.
+     */
+    private int indexIn(ColumnIndex columns) throws IllegalArgumentException {
+        
+        Binding current = binding;
+        if(current != null && current.columns == columns) {
+            return current.col;
+        }
+        
+        int col = columns.indexOf(name);
+        if(col < 0) {
+            throw new IllegalArgumentException(name + " is not a valid column name in this row.");
+        }
+        if(columns.type(col) != type) {
+            throw new DataTypeException(
+                    "Can't cast " + columns.type(col).getHumanName() + " to "
+                            + type.getHumanName() + ".");
+        }
+        binding = new Binding(columns, col);
+        return col;
+    }
+    
+    private static Class<?> javaTypeOf(DataType dataType) {
+        
+        switch(dataType) {
+            case BOOLEAN:
+                return Boolean.class;
+            case TEXT:
+                return String.class;
+            case INTEGER:
+                return Integer.class;
+            case BIG_INTEGER:
+                return Long.class;
+            case DECIMAL:
+                return Double.class;
+            case TIMESTAMP:
+            case CREATED_AT:
+            case CHANGED_AT:
+                return Date.class;
+            case UUID:
+            case CREATED_BY:
+            case CHANGED_BY:
+                return UUID.class;
+            case COLLECTION_SET:
+                return Set.class;
+            case COLLECTION_LIST:
+            case TUPLE:
+                return List.class;
+            case COLLECTION_MAP:
+                return Map.class;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.join("", name, ": ", javaType.getSimpleName());
+    }
+    
+    /**
+     * A column index paired with the index of this column in it.
+     */
+    private static final class Binding {
+        
+        private final ColumnIndex columns;
+        private final int col;
+
+        private Binding(ColumnIndex columns, int col) {
+            this.columns = columns;
+            this.col = col;
+        }
+    }
+}
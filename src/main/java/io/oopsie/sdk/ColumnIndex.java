@@ -0,0 +1,83 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.ResultSet.RowColumnMetaData;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Internally used by SDK to map the column names of a {@link ResultSet} to their
+ * index in the value array of each {@link Row}. Computed once per {@link ResultSet}
+ * and shared by all its rows. Columns are indexed in column name order.
+ */
+final class ColumnIndex {
+    
+    static final ColumnIndex EMPTY = new ColumnIndex(Collections.emptyMap());
+    
+    private final Map<String, RowColumnMetaData> metaData;
+    private final Map<String, Integer> indexes;
+    private final String[] names;
+    private final DataType[] types;
+
+    /**
+     * Creates a new column index.
+     * @param metaData the column meta data, ordered by column name
+     */
+    ColumnIndex(Map<String, RowColumnMetaData> metaData) {
+        this.metaData = Collections.unmodifiableMap(metaData);
+        this.indexes = new HashMap<>(metaData.size() * 2);
+        this.names = new String[metaData.size()];
+        this.types = new DataType[metaData.size()];
+        int i = 0;
+        for(RowColumnMetaData meta : metaData.values()) {
+            indexes.put(meta.getColumnName(), i);
+            names[i] = meta.getColumnName();
+            types[i] = meta.getDataType();
+            i++;
+        }
+    }
+    
+    /**
+     * Returns the index of the named column.
+     * @param name the column name
+     * @return the index or -1 if not a column
+     */
+    int indexOf(String name) {
+        Integer index = indexes.get(name);
+        return index != null ? index : -1;
+    }
+    
+    /**
+     * Returns the number of columns.
+     * @return column count
+     */
+    int size() {
+        return names.length;
+    }
+    
+    /**
+     * Returns the name of the column at index.
+     * @param index the column index
+     * @return the column name
+     */
+    String name(int index) {
+        return names[index];
+    }
+    
+    /**
+     * Returns the data type of the column at index.
+     * @param index the column index
+     * @return the data type
+     */
+    DataType type(int index) {
+        return types[index];
+    }
+
+    /**
+     * Returns the column meta data mapped to column names.
+     * @return column meta data
+     */
+    Map<String, RowColumnMetaData> getMetaData() {
+        return metaData;
+    }
+}
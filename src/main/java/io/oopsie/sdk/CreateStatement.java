@@ -3,12 +3,13 @@ package io.oopsie.sdk;
 import io.oopsie.sdk.error.AlreadyExecutedException;
 import io.oopsie.sdk.error.StatementParamException;
 import io.oopsie.sdk.error.StatementExecutionException;
+import io.oopsie.sdk.transport.RequestMethod;
+import io.oopsie.sdk.transport.TransportRequest;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import org.springframework.http.HttpMethod;
 
 /**
  * Use this class to create and persist ( HTTP POST) entities for a {@link Resource}.   
@@ -24,16 +25,16 @@ public class CreateStatement extends Statement<CreateStatement> {
      */
     CreateStatement(Resource resource) {
         super(resource);
-        setRequestMethod(HttpMethod.POST);
+        setRequestMethod(RequestMethod.POST);
     }
    
     @Override
-    protected synchronized final ResultSet execute(URI baseApiUri, UUID customerId,
-            UUID siteId, String apiKey, List<String> cookies)
+    protected synchronized final TransportRequest prepare(URI baseApiUri,
+            UUID customerId, UUID siteId, String apiKey, List<String> cookies)
             throws AlreadyExecutedException, StatementExecutionException {
         
         setRequestBody(attribVals);
-        return super.execute(baseApiUri, customerId, siteId, apiKey, cookies);
+        return super.prepare(baseApiUri, customerId, siteId, apiKey, cookies);
     }
     
     @Override
@@ -62,6 +63,11 @@ public class CreateStatement extends Statement<CreateStatement> {
         return this;
     }
 
+    @Override
+    Map<String, Object> getBodyParams() {
+        return attribVals;
+    }
+    
     @Override
     public void reset() {
         attribVals = null;
@@ -1,7 +1,7 @@
 package io.oopsie.sdk;
 
 import io.oopsie.sdk.error.StatementParamException;
-import org.springframework.http.HttpMethod;
+import io.oopsie.sdk.transport.RequestMethod;
 
 /**
  * Use this class to delete a persisted entity for a {@link Resource}.
@@ -15,6 +15,6 @@ public class DeleteStatement extends Statement<DeleteStatement> {
      */
     DeleteStatement(Resource resource) {
         super(resource);
-        setRequestMethod(HttpMethod.DELETE);
+        setRequestMethod(RequestMethod.DELETE);
     }
 }
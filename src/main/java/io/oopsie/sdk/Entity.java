@@ -0,0 +1,248 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementParamException;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A mutable view of a fetched {@link Row}, tracking which attributes were changed. Get one by
+ * calling {@link Resource#entity(io.oopsie.sdk.Row) } and save it by calling
+ * {@link Site#save(io.oopsie.sdk.Entity) }, which doesn't send anything unless an attribute
+ * was changed. An entity holds no copy of the row's values until an attribute is changed, and
+ * then only the changed values.
+ * <p>
+ * Values are compared by the attribute's data type, e.g. a timestamp set as {@link Date},
+ * {@link Instant} or ISO-8601 string of the same instant, or an integer set as Integer or
+ * Long, is the same value and doesn't change the entity.
+ * <p>
+ * Instances of this class are thread safe, an entity may be changed while a save of it is in
+ * flight. Attributes changed meanwhile stay changed once the save is done.
+ *
+ * <pre>
+ * Entity book = bookRes.entity(row);
+ * book.set("title", title);
+ * site.save(book); // skipped if title didn't change
+ * </pre>
+ */
+public class Entity {
+
+    private final Resource resource;
+    private final Row row;
+    private Map<String, Object> changes;
+    private Set<String> dirty;
+
+    /**
+     * Used internally to create an entity.
+     *
+     * @param resource the resource of the row
+     * @param row the fetched row
+     */
+    Entity(Resource resource, Row row) {
+        this.resource = resource;
+        this.row = row;
+    }
+
+    /**
+     * Returns the resource of this entity.
+     * @return the resource
+     */
+    public Resource getResource() {
+        return resource;
+    }
+
+    /**
+     * Returns the row this entity was created from, without any changes.
+     * @return the row
+     */
+    public Row getRow() {
+        return row;
+    }
+
+    /**
+     * Returns the current value of named attribute.
+     *
+     * @param name the attribute name
+     * @return the value
+     */
+    public synchronized Object get(String name) {
+        if(changes != null && changes.containsKey(name)) {
+            return changes.get(name);
+        }
+        return row.getColumnIndex(name) >= 0 ? row.get(name) : null;
+    }
+
+    /**
+     * Sets the value of named attribute. Setting the current value doesn't change the entity.
+     *
+     * @param name the attribute name
+     * @param value the value
+     * @return this entity
+     * @throws StatementParamException if not a settable attribute of the resource, e.g. a primary
+     * key attribute or one managed by the server
+     */
+    public synchronized Entity set(String name, Object value) throws StatementParamException {
+
+        Attribute attribute = resource.getAttribute(name);
+        if(attribute == null || !resource.getAllSettableAttributes().contains(attribute)) {
+            throw new StatementParamException("'" + name + "' is not a settable attribute of '"
+                    + resource.getName() + "'.");
+        }
+        if(resource.getPrimaryKey().containsKey(name)) {
+            throw new StatementParamException("'" + name + "' is part of the primary key of '"
+                    + resource.getName() + "' and can't be changed.");
+        }
+        if(sameValue(name, get(name), value)) {
+            return this;
+        }
+        if(changes == null) {
+            changes = new HashMap<>();
+            dirty = new HashSet<>();
+        }
+        changes.put(name, value);
+        dirty.add(name);
+        return this;
+    }
+
+    /**
+     * Returns true if any attribute was changed since fetched or last saved.
+     * @return true if changed
+     */
+    public synchronized boolean isDirty() {
+        return dirty != null && !dirty.isEmpty();
+    }
+
+    /**
+     * Returns the names of the attributes changed since fetched or last saved.
+     * @return names of changed attributes
+     */
+    public synchronized Set<String> getChangedAttributeNames() {
+        return dirty != null ? Collections.unmodifiableSet(new HashSet<>(dirty)) : Collections.emptySet();
+    }
+
+    /**
+     * Returns a {@link SaveStatement} of all current values of this entity. As of now saves
+     * update all values, see {@link Row#getAsParams() }.
+     *
+     * @return a save statement
+     */
+    public synchronized SaveStatement toSaveStatement() {
+
+        Map<String, Object> params = row.getAsParams();
+        // helper columns aren't part of the resource
+        params.keySet().retainAll(resource.getAllSettableAttributeNames());
+        if(changes != null) {
+            params.putAll(changes);
+        }
+        return resource.save().withParams(params);
+    }
+
+    /**
+     * Internally used by SDK to get the changed values about to be saved.
+     * @return the changed values
+     */
+    synchronized Map<String, Object> changes() {
+        return changes != null ? new HashMap<>(changes) : Collections.emptyMap();
+    }
+
+    /**
+     * Internally used by SDK to mark the changed values as saved. Attributes changed again
+     * while being saved stay changed.
+     *
+     * @param saved the changed values saved
+     */
+    synchronized void saved(Map<String, Object> saved) {
+        if(dirty != null) {
+            saved.forEach((name, value) -> {
+                if(sameValue(name, changes.get(name), value)) {
+                    dirty.remove(name);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns true if passed in values are the same value of named attribute.
+     */
+    private boolean sameValue(String name, Object a, Object b) {
+        Attribute attribute = resource.getAttribute(name);
+        if(attribute == null) {
+            return Objects.equals(a, b);
+        }
+        DataType type = attribute.getType();
+        Object x = normalize(type, a);
+        Object y = normalize(type, b);
+        if(x instanceof BigDecimal && y instanceof BigDecimal) {
+            // equals tells 1.0 and 1.00 apart
+            return ((BigDecimal)x).compareTo((BigDecimal)y) == 0;
+        }
+        return Objects.equals(x, y);
+    }
+
+    /**
+     * Converts passed in value to one representation per data type, for comparison only.
+     * Values not convertible are returned as is.
+     */
+    private static Object normalize(DataType type, Object value) {
+
+        if(value == null) {
+            return null;
+        }
+        switch(type) {
+            case TIMESTAMP:
+            case CREATED_AT:
+            case CHANGED_AT:
+                if(value instanceof Date) {
+                    return ((Date)value).toInstant();
+                }
+                if(value instanceof String) {
+                    try {
+                        return Instant.parse((String)value);
+                    } catch(DateTimeException ex) {
+                        return value;
+                    }
+                }
+                return value;
+            case UUID:
+            case CREATED_BY:
+            case CHANGED_BY:
+                if(value instanceof String) {
+                    try {
+                        return UUID.fromString((String)value);
+                    } catch(IllegalArgumentException ex) {
+                        return value;
+                    }
+                }
+                return value;
+            case INTEGER:
+            case BIG_INTEGER:
+                return value instanceof Integer || value instanceof Long || value instanceof Short
+                        || value instanceof Byte ? ((Number)value).longValue() : value;
+            case DECIMAL:
+                if(value instanceof BigDecimal || !(value instanceof Number)) {
+                    return value;
+                }
+                try {
+                    return new BigDecimal(value.toString());
+                } catch(NumberFormatException ex) {
+                    return value;
+                }
+            case TEXT:
+                return value instanceof Map || value instanceof Collection ? value : value.toString();
+            case COLLECTION_SET:
+                return value instanceof List ? new HashSet<>((List<?>)value) : value;
+            default:
+                return value;
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package io.oopsie.sdk;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import io.oopsie.sdk.transport.RequestMethod;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A client side read-through cache of entities fetched by primary key. Set it on a
+ * {@link Site} by calling {@link Site#setEntityCache(io.oopsie.sdk.EntityCache) } and
+ * any {@link GetStatement} on a {@link Resource}'s primary {@link View} having params
+ * for exactly all of its primary key attributes is served from the cache when possible.
+ * Entries are evicted when the cache grows above its maximum size and expire after
+ * the configured time to live.
+ * <p>
+ * Executing a {@link SaveStatement}, {@link DeleteStatement} or {@link CreateStatement}
+ * through the same {@link Site} invalidates the entry for the statement's primary key.
+ * Writes made by any other client are not seen until the entry expires. A read started
+ * before an invalidation, e.g. while the entity was being saved, is not stored, since it
+ * may hold the values from before the write.
+ * <p>
+ * Statements executed with user auth cookies are never served from nor stored in the cache
+ * since what a user is allowed to read may differ from what the api key is allowed to read.
+ */
+public class EntityCache {
+
+    private final Cache<Key, Entry> cache;
+    private final LongAdder evictions = new LongAdder();
+    
+    // write generations, a read is only stored if nothing it covers was invalidated since it started
+    private final AtomicLong generation = new AtomicLong();
+    private final Cache<Key, Long> invalidatedKeys;
+    private final Map<UUID, Long> invalidatedResources = new ConcurrentHashMap<>();
+    private volatile long invalidatedBefore;
+    private final ReadWriteLock storeLock = new ReentrantReadWriteLock();
+
+    /**
+     * Creates a new EntityCache.
+     *
+     * @param maximumSize maximum number of cached entities
+     * @param timeToLive how long an entity is cached after it was fetched
+     * @param unit unit of timeToLive
+     */
+    public EntityCache(long maximumSize, long timeToLive, TimeUnit unit) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive, unit)
+                .recordStats()
+                .<Key, Entry>removalListener(removal -> {
+                    if(removal.getCause() == RemovalCause.SIZE) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+        // keys forgotten are covered by invalidatedBefore, failing any read started before
+        this.invalidatedKeys = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .<Key, Long>removalListener(removal -> {
+                    if(removal.wasEvicted()) {
+                        raiseInvalidatedBefore(removal.getValue());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Returns the number of times a statement was served from the cache.
+     * @return hit count
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * Returns the number of times a cacheable statement was not found in the cache.
+     * @return miss count
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * Returns the number of entities evicted due to size. Expired and invalidated
+     * entities are not counted.
+     * @return eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the approximate number of cached entities.
+     * @return number of entities
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Invalidates all cached entities.
+     */
+    public void invalidateAll() {
+        storeLock.writeLock().lock();
+        try {
+            raiseInvalidatedBefore(generation.incrementAndGet());
+            cache.invalidateAll();
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Invalidates all cached entities of passed in {@link Resource}.
+     * @param resource the resource
+     */
+    public void invalidateAll(Resource resource) {
+        UUID resourceId = resource.getResourceId();
+        storeLock.writeLock().lock();
+        try {
+            invalidatedResources.put(resourceId, generation.incrementAndGet());
+            cache.asMap().keySet().removeIf(key -> key.resourceId.equals(resourceId));
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Internally used by SDK to complete passed in statement with cached rows.
+     *
+     * @param statement the statement about to be executed
+     * @param cookies the auth cookies of the execution
+     * @return the result or null if not cached
+     */
+    ResultSet read(Statement statement, List<String> cookies) {
+
+        if(!(statement instanceof GetStatement)) {
+            return null;
+        }
+        Entry entry = lookup(readKey(statement.getResource(), statement.getView(),
+                statement.getQueryparams(), cookies));
+        return entry != null ? statement.complete(entry.columns, Arrays.asList(entry.rows), null) : null;
+    }
+
+    /**
+     * Internally used by SDK to read the result of passed in bound statement from the cache.
+     *
+     * @param statement the bound statement about to be executed
+     * @param cookies the auth cookies of the execution
+     * @return the result or null if not cached
+     */
+    ResultSet read(BoundStatement statement, List<String> cookies) {
+
+        if(!statement.getPreparedStatement().requestMethod().equals(RequestMethod.GET)) {
+            return null;
+        }
+        Entry entry = lookup(readKey(statement.resource(), statement.view(), statement.queryParams(), cookies));
+        return entry != null ? new ResultSet(null, true, entry.columns, Arrays.asList(entry.rows)) : null;
+    }
+
+    /**
+     * Internally used by SDK to get the write generation of a read about to be sent, passed
+     * to {@link #executed(io.oopsie.sdk.Statement, java.util.List, io.oopsie.sdk.ResultSet, long) }
+     * once the read is done.
+     *
+     * @return the current generation
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Internally used by SDK to store the result of passed in statement, unless the entity was
+     * invalidated since the statement was sent.
+     *
+     * @param statement the executed statement
+     * @param cookies the auth cookies of the execution
+     * @param result the result of the execution
+     * @param started the generation when the statement was sent
+     */
+    void executed(Statement statement, List<String> cookies, ResultSet result, long started) {
+
+        if(statement instanceof GetStatement) {
+            store(readKey(statement.getResource(), statement.getView(), statement.getQueryparams(), cookies),
+                    result, started);
+        }
+    }
+
+    /**
+     * Internally used by SDK to store the result of passed in bound statement, unless the
+     * entity was invalidated since the statement was sent.
+     *
+     * @param statement the executed bound statement
+     * @param cookies the auth cookies of the execution
+     * @param result the result of the execution
+     * @param started the generation when the statement was sent
+     */
+    void executed(BoundStatement statement, List<String> cookies, ResultSet result, long started) {
+
+        if(statement.getPreparedStatement().requestMethod().equals(RequestMethod.GET)) {
+            store(readKey(statement.resource(), statement.view(), statement.queryParams(), cookies),
+                    result, started);
+        }
+    }
+
+    /**
+     * Internally used by SDK to invalidate the entity written by passed in statement.
+     * Called whether the statement succeeded or not, since a failed write might still
+     * have been applied.
+     *
+     * @param statement the write statement
+     */
+    void written(Statement statement) {
+
+        if(!statement.getRequestMethod().equals(RequestMethod.GET)) {
+            Object body = statement.getRequestBody();
+            invalidate(statement.getResource(), body instanceof Map ? (Map)body : null,
+                    statement.getQueryparams());
+        }
+    }
+
+    /**
+     * Internally used by SDK to invalidate the entity written by passed in bound statement.
+     *
+     * @param statement the write statement
+     */
+    void written(BoundStatement statement) {
+
+        if(!statement.getPreparedStatement().requestMethod().equals(RequestMethod.GET)) {
+            invalidate(statement.resource(), statement.bodyParams(), statement.queryParams());
+        }
+    }
+
+    private Entry lookup(Key key) {
+        return key != null ? cache.getIfPresent(key) : null;
+    }
+
+    private void store(Key key, ResultSet result, long started) {
+
+        if(key == null) {
+            return;
+        }
+        List<Row> rows = result.remainingRows();
+        Entry entry = new Entry(result.columns(), rows.toArray(new Row[rows.size()]));
+        storeLock.readLock().lock();
+        try {
+            // atomic with invalidations of the same key
+            cache.asMap().compute(key, (k, current) -> invalidatedSince(k, started) ? current : entry);
+        } finally {
+            storeLock.readLock().unlock();
+        }
+    }
+
+    private boolean invalidatedSince(Key key, long started) {
+
+        Long keyInvalidated = invalidatedKeys.getIfPresent(key);
+        Long resourceInvalidated = invalidatedResources.get(key.resourceId);
+        return invalidatedBefore > started
+                || keyInvalidated != null && keyInvalidated > started
+                || resourceInvalidated != null && resourceInvalidated > started;
+    }
+
+    private void raiseInvalidatedBefore(long invalidated) {
+        synchronized(generation) {
+            if(invalidated > invalidatedBefore) {
+                invalidatedBefore = invalidated;
+            }
+        }
+    }
+
+    private void invalidate(Resource resource, Map<String, Object> body, Map<String, Object> params) {
+
+        Key key = entityKey(resource, body, params);
+        if(key != null) {
+            cache.asMap().compute(key, (k, current) -> {
+                invalidatedKeys.put(k, generation.incrementAndGet());
+                return null;
+            });
+        } else {
+            // key not known, e.g. created entities with generated keys
+            invalidateAll(resource);
+        }
+    }
+
+    /**
+     * Internally used by SDK to get a key identifying the entity a write targets, equal
+     * for all writes of the same entity.
+     *
+     * @param resource the resource
+     * @param body the body params or null
+     * @param params the query params or null
+     * @return the key or null if any primary key value is missing
+     */
+    static Key entityKey(Resource resource, Map<String, Object> body, Map<String, Object> params) {
+
+        Set<String> pk = resource.getPrimaryKey().keySet();
+        List<String> values = new ArrayList<>(pk.size());
+        for(String name : pk) {
+            if(body != null && body.containsKey(name)) {
+                values.add(normalize(body.get(name)));
+            } else if(params != null && params.containsKey(name)) {
+                values.add(normalize(params.get(name)));
+            } else {
+                return null;
+            }
+        }
+        return new Key(resource.getResourceId(), values);
+    }
+
+    /**
+     * Returns the cache key of a cacheable read or null if not a read by primary key.
+     */
+    private static Key readKey(Resource resource, String view, Map<String, Object> params,
+            List<String> cookies) {
+
+        if(cookies != null || !resource.getPrimaryViewName().equals(view)) {
+            return null;
+        }
+        Set<String> pk = resource.getPrimaryKey().keySet();
+        if(params == null || params.size() != pk.size()) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(pk.size());
+        for(String name : pk) {
+            if(!params.containsKey(name)) {
+                return null;
+            }
+            values.add(normalize(params.get(name)));
+        }
+        return new Key(resource.getResourceId(), values);
+    }
+
+    /**
+     * Key values are compared the way they are sent, i.e. as strings.
+     */
+    private static String normalize(Object value) {
+        if(value instanceof Date) {
+            value = ((Date)value).toInstant();
+        }
+        return String.valueOf(value);
+    }
+
+    static final class Key {
+
+        private final UUID resourceId;
+        private final List<String> values;
+
+        private Key(UUID resourceId, List<String> values) {
+            this.resourceId = resourceId;
+            this.values = values;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * resourceId.hashCode() + values.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(this == obj) {
+                return true;
+            }
+            if(!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)obj;
+            return Objects.equals(resourceId, other.resourceId) && Objects.equals(values, other.values);
+        }
+    }
+
+    private static final class Entry {
+
+        private final ColumnIndex columns;
+        private final Row[] rows;
+
+        private Entry(ColumnIndex columns, Row[] rows) {
+            this.columns = columns;
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementExecutionException;
+import io.oopsie.sdk.transport.RequestMethod;
+import io.oopsie.sdk.transport.Transport;
+import io.oopsie.sdk.transport.TransportRequest;
+import io.oopsie.sdk.transport.TransportResponse;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Internally used by SDK to send a resource request through a {@link Transport}
+ * and decode its response, shared by {@link Statement}s and {@link BoundStatement}s.
+ * A GET request identical to one already in flight in a passed in {@link SingleFlight}
+ * shares that request's exchange instead of sending its own. Other requests forget the
+ * requests to their resource in flight, both when sent and when done.
+ */
+final class Exchanges {
+
+    private Exchanges() {
+    }
+
+    /**
+     * Sends passed in request and decodes the response in calling thread.
+     *
+     * @param transport the transport
+     * @param flights requests in flight or null to not coalesce requests
+     * @param request the request
+     * @param resource the resource of the request
+     * @return the decoded response
+     * @throws StatementExecutionException if the exchange failed or the response is an error
+     */
+    static ResultDecoder exchange(Transport transport, SingleFlight flights, TransportRequest request,
+            Resource resource) throws StatementExecutionException {
+
+        if(flights == null) {
+            return exchange(transport, request, resource);
+        }
+        if(request.getMethod().equals(RequestMethod.GET)) {
+            return flights.execute(SingleFlight.key(request, resource), () -> exchange(transport, request, resource));
+        }
+        flights.forget(resource);
+        try {
+            return exchange(transport, request, resource);
+        } finally {
+            flights.forget(resource);
+        }
+    }
+
+    /**
+     * Sends passed in request asynchronously and decodes the response on passed in executor.
+     *
+     * @param transport the transport
+     * @param executor the executor to decode the response on
+     * @param flights requests in flight or null to not coalesce requests
+     * @param request the request
+     * @param resource the resource of the request
+     * @return the future decoded response, completing exceptionally with a
+     * {@link StatementExecutionException} if the exchange failed or the response is an error
+     */
+    static CompletableFuture<ResultDecoder> exchangeAsync(Transport transport, Executor executor,
+            SingleFlight flights, TransportRequest request, Resource resource) {
+
+        if(flights == null) {
+            return exchangeAsync(transport, executor, request, resource);
+        }
+        if(request.getMethod().equals(RequestMethod.GET)) {
+            return flights.executeAsync(SingleFlight.key(request, resource),
+                    () -> exchangeAsync(transport, executor, request, resource));
+        }
+        flights.forget(resource);
+        return exchangeAsync(transport, executor, request, resource)
+                .whenComplete((decoded, error) -> flights.forget(resource));
+    }
+
+    private static ResultDecoder exchange(Transport transport, TransportRequest request, Resource resource)
+            throws StatementExecutionException {
+
+        try (TransportResponse response = transport.exchange(request)) {
+            return decode(response, request.getMethod(), resource);
+        } catch(IOException ex) {
+            throw new StatementExecutionException("Severe: " + ex.getMessage());
+        }
+    }
+
+    private static CompletableFuture<ResultDecoder> exchangeAsync(Transport transport, Executor executor,
+            TransportRequest request, Resource resource) {
+
+        return transport.exchangeAsync(request, executor).handleAsync((response, error) -> {
+
+            if(error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                throw new StatementExecutionException("Severe: " + cause.getMessage(), cause);
+            }
+            try (TransportResponse r = response) {
+                return decode(r, request.getMethod(), resource);
+            } catch(IOException ex) {
+                throw new StatementExecutionException("Severe: " + ex.getMessage());
+            }
+        }, executor);
+    }
+
+    /**
+     * Reads the response of a resource request.
+     *
+     * @throws IOException if not able to read the response
+     * @throws StatementExecutionException if response is an error
+     */
+    private static ResultDecoder decode(TransportResponse response, RequestMethod method, Resource resource)
+            throws IOException, StatementExecutionException {
+
+        if(response.getStatusCode() >= 400) {
+            throw Http.executionError(response);
+        }
+        return method.equals(RequestMethod.GET)
+                ? ResultDecoder.decodeEntities(resource, response.getBody())
+                : ResultDecoder.decodeEntity(resource, response.getBody());
+    }
+}
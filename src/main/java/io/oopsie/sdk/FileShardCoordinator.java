@@ -0,0 +1,161 @@
+package io.oopsie.sdk;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ShardCoordinator} using lock files in a directory shared by all workers, e.g. a
+ * network file system. A shard is claimed by atomically creating its lock file, holding the
+ * claiming worker's token, and completed by creating its done file. A lock file not modified
+ * within the lease time is considered abandoned and may be taken over by another worker.
+ * The directory must be on a file system supporting hard links.
+ * <p>
+ * A lock file's modification time is set by the renewing worker's clock and compared to the
+ * clock of the worker about to take it over, so the clocks of all workers must be kept in sync,
+ * e.g. by NTP, with a skew well below a third of the lease time. A worker whose clock is ahead
+ * takes over claims early, the claiming worker then finds its claim lost when renewing it.
+ * <p>
+ * Files of a plan are kept in a sub directory named as the plan. Delete it to scan the plan again.
+ */
+public class FileShardCoordinator implements ShardCoordinator {
+
+    private final Path directory;
+    private final long leaseMillis;
+    private final byte[] token = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Creates a new FileShardCoordinator.
+     *
+     * @param directory the directory shared by all workers
+     * @param lease the lease time of claims
+     * @param unit unit of lease
+     */
+    public FileShardCoordinator(Path directory, long lease, TimeUnit unit) {
+        this.directory = directory;
+        this.leaseMillis = unit.toMillis(lease);
+    }
+
+    @Override
+    public boolean claim(String plan, int shard) throws IOException {
+
+        Path lock = file(plan, shard, "lock");
+        Path done = file(plan, shard, "done");
+        if(Files.exists(done)) {
+            return false;
+        }
+        Files.createDirectories(lock.getParent());
+        boolean claimed;
+        try {
+            Files.write(Files.createFile(lock), token);
+            claimed = true;
+        } catch(FileAlreadyExistsException ex) {
+            claimed = takeOver(lock);
+        }
+        // completed and released since checked
+        if(claimed && Files.exists(done)) {
+            release(plan, shard);
+            return false;
+        }
+        return claimed;
+    }
+
+    @Override
+    public boolean renew(String plan, int shard) throws IOException {
+
+        Path lock = file(plan, shard, "lock");
+        if(!owned(lock)) {
+            return false;
+        }
+        try {
+            Files.setLastModifiedTime(lock, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch(NoSuchFileException ex) {
+            // moved away by a worker taking it over
+            return false;
+        }
+        // taken over since checked, the time set might be another worker's lock
+        return owned(lock);
+    }
+
+    @Override
+    public void release(String plan, int shard) throws IOException {
+
+        Path lock = file(plan, shard, "lock");
+        if(owned(lock)) {
+            Files.deleteIfExists(lock);
+        }
+    }
+
+    @Override
+    public void complete(String plan, int shard) throws IOException {
+
+        try {
+            Files.createFile(file(plan, shard, "done"));
+        } catch(FileAlreadyExistsException ex) {
+            // completed by a worker that took over an expired claim
+        }
+        release(plan, shard);
+    }
+
+    @Override
+    public long getLeaseMillis() {
+        return leaseMillis;
+    }
+
+    /**
+     * Takes over an expired lock. The lock is first moved away atomically and checked to
+     * still be the expired one, so only one of many workers taking over the same lock succeeds,
+     * and to still be expired, so a lock renewed meanwhile is given back. Once moved away the
+     * lock can't be renewed, its owner finds it lost.
+     */
+    private boolean takeOver(Path lock) throws IOException {
+
+        try {
+            if(System.currentTimeMillis() - Files.getLastModifiedTime(lock).toMillis() < leaseMillis) {
+                return false;
+            }
+            byte[] owner = Files.readAllBytes(lock);
+            Path expired = lock.resolveSibling(lock.getFileName() + "." + UUID.randomUUID() + ".expired");
+            Files.move(lock, expired, StandardCopyOption.ATOMIC_MOVE);
+            if(!Arrays.equals(Files.readAllBytes(expired), owner)
+                    || System.currentTimeMillis() - Files.getLastModifiedTime(expired).toMillis() < leaseMillis) {
+                // moved the lock of a worker that took over first, or renewed meanwhile, give it back
+                // unless another worker claimed the shard since, linking fails if the lock exists
+                try {
+                    Files.createLink(lock, expired);
+                } catch(FileAlreadyExistsException ex) {
+                    // claimed meanwhile, the lock given back would replace the new claim
+                } finally {
+                    Files.deleteIfExists(expired);
+                }
+                return false;
+            }
+            Files.deleteIfExists(expired);
+            Files.write(Files.createFile(lock), token);
+            return true;
+        } catch(NoSuchFileException | FileAlreadyExistsException ex) {
+            // released, completed or taken over by another worker meanwhile
+            return false;
+        }
+    }
+
+    private boolean owned(Path lock) throws IOException {
+        try {
+            return Arrays.equals(Files.readAllBytes(lock), token);
+        } catch(NoSuchFileException ex) {
+            return false;
+        }
+    }
+
+    private Path file(String plan, int shard, String suffix) {
+        return directory.resolve(plan).resolve("shard-" + shard + "." + suffix);
+    }
+}
@@ -3,9 +3,11 @@ package io.oopsie.sdk;
 import io.oopsie.sdk.error.AlreadyExecutedException;
 import io.oopsie.sdk.error.StatementExecutionException;
 import io.oopsie.sdk.error.StatementParamException;
+import io.oopsie.sdk.transport.RequestMethod;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
-import org.springframework.http.HttpMethod;
 
 /**
  * Use this class to fetch (HTTP GET) entities stored in a remote OOPSIE cloud for a
@@ -13,6 +15,9 @@ import org.springframework.http.HttpMethod;
  */
 public class GetStatement extends Statement<GetStatement> {
     
+    private static final Set<String> STATEMENT_PARAMS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("_limit", "pageState")));
+    
     /**
      * Creates a new GetStatement for specified {@link Resource}.
      * @param resource the resource
@@ -32,11 +37,8 @@ public class GetStatement extends Statement<GetStatement> {
             throw new IllegalArgumentException("'" + view.getName() + "'" 
                     + " is not a view in the passed in resource '" + resource.getName() + "'");
         }
-        setRequestMethod(HttpMethod.GET);
-        Set<String> statementParams = new HashSet();
-        statementParams.add("_limit");
-        statementParams.add("pageState");
-        setStatementParams(statementParams);
+        setRequestMethod(RequestMethod.GET);
+        setStatementParams(STATEMENT_PARAMS);
         setView(view.getName());
     }
     
@@ -0,0 +1,107 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementExecutionException;
+import io.oopsie.sdk.transport.TransportResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Internally used by SDK to build requests and handle responses sent through
+ * a {@link io.oopsie.sdk.transport.Transport}.
+ */
+final class Http {
+    
+    static final List<String> APPLICATION_JSON = Collections.singletonList("application/json");
+    
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    
+    private Http() {
+    }
+    
+    /**
+     * Returns a new mutable header map holding the site identification headers.
+     * @param customerId the customer id
+     * @param siteId the site id
+     * @return the headers
+     */
+    static Map<String, List<String>> siteHeaders(UUID customerId, UUID siteId) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        headers.put("oopsie-customer-id", Collections.singletonList(customerId.toString()));
+        headers.put("oopsie-site-id", Collections.singletonList(siteId.toString()));
+        return headers;
+    }
+    
+    /**
+     * Appends a query param to passed in URI builder.
+     * @param uri the URI built so far
+     * @param name the param name
+     * @param value the param value, might be null
+     */
+    static void appendQueryParam(StringBuilder uri, String name, Object value) {
+        uri.append(uri.indexOf("?") < 0 ? '?' : '&');
+        encode(uri, name, true);
+        if(value != null) {
+            uri.append('=');
+            encode(uri, value.toString(), true);
+        }
+    }
+    
+    /**
+     * Appends passed in value percent encoded as a path segment or query param.
+     * @param uri the URI built so far
+     * @param value the value to encode
+     * @param query true if encoding a query param, false if a path segment
+     */
+    static void encode(StringBuilder uri, String value, boolean query) {
+        
+        for(byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char)(b & 0xFF);
+            if(isAllowed(c, query)) {
+                uri.append(c);
+            } else {
+                uri.append('%').append(HEX[(b >> 4) & 0x0F]).append(HEX[b & 0x0F]);
+            }
+        }
+    }
+    
+    private static boolean isAllowed(char c, boolean query) {
+        
+        if((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+            return true;
+        }
+        switch(c) {
+            case '-': case '.': case '_': case '~':
+            case '!': case '$': case '\'': case '(': case ')': case '*': case '+': case ',': case ';':
+            case ':': case '@':
+                return true;
+            case '/': case '?':
+                return query;
+            case '=': case '&':
+                return !query;
+            default:
+                return false;
+        }
+    }
+    
+    /**
+     * Creates a {@link StatementExecutionException} out of an error response.
+     * @param response the response
+     * @return the exception to throw
+     */
+    static StatementExecutionException executionError(TransportResponse response) {
+        
+        String body;
+        try {
+            body = response.readBodyAsString();
+        } catch(IOException ex) {
+            body = "";
+        }
+        return new StatementExecutionException(
+                response.getStatusCode() + " " + response.getReasonPhrase() + ", " + body);
+    }
+}
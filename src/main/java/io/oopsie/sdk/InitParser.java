@@ -6,55 +6,73 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import org.springframework.http.ResponseEntity;
 
 class InitParser {
     
-    static Applications parse(ResponseEntity entity) {
-        return parseApps((Map)entity.getBody());
+    /**
+     * Creates the model of passed in init body. Only the application names are read,
+     * each {@link Application} is built on first access.
+     * @param body the init body
+     * @return the applications
+     */
+    static Applications parse(Map<String, Object> body) {
+        return parse(body, SchemaSignature.of((Map)body));
     }
     
-    private static Applications parseApps(Map<String, Map> map) {
-        
-        Map<String, Application> parsedAppMap = new LinkedHashMap();
-        
-        map.keySet().forEach((String appName) -> {
-            Map app = map.get(appName);
-            parsedAppMap.put(appName, new Application(appName, new Resources(parseResources((List)app.get("resources")))));
-        });
-        return new Applications(parsedAppMap);
+    /**
+     * Creates the model of passed in init body with its already computed signature.
+     * @param body the init body
+     * @param signature the signature of the body
+     * @return the applications
+     */
+    static Applications parse(Map<String, Object> body, SchemaSignature signature) {
+        return new Applications((Map)body, signature);
     }
     
+    /**
+     * Builds an {@link Application}, indexing its resources by name. Each {@link Resource}
+     * is built on first access.
+     * @param appName the application name
+     * @param app the raw application
+     * @return the application
+     */
+    static Application parseApp(String appName, Map app) {
+        
+        Map<String, Map> rawResources = new LinkedHashMap<>();
+        for(Map resMap : (List<Map>)app.get("resources")) {
+            rawResources.put((String)resMap.get("name"), resMap);
+        }
+        return new Application(appName, new Resources(rawResources));
+    }
     
-    private static Map<String, Resource> parseResources(List<Map> resList) {
+    /**
+     * Builds a {@link Resource} with all its attributes, views and auths.
+     * @param resMap the raw resource
+     * @return the resource
+     */
+    static Resource parseResource(Map resMap) {
         
-        Map<String, Resource> parsedResources = new LinkedHashMap();
-        for(Map resMap : resList) {
+        UUID id = UUID.fromString((String)resMap.get("id"));
+        String name = (String)resMap.get("name");
 
-            UUID id = UUID.fromString((String)resMap.get("id"));
-            String name = (String)resMap.get("name");
-            
-            Map<String, Attribute> attributes = parseAttributes(
-                    (List)resMap.get("attributes")
-            );
-            Map<String, View> views = parseViews(
-                    (List)resMap.get("views")
-            );
-            
-            List authResp = (List)resMap.get("auths");
-            Map<String, Auth> auths = authResp != null ? parseResourceAuths(authResp) : Collections.EMPTY_MAP;
+        Map<String, Attribute> attributes = parseAttributes(
+                (List)resMap.get("attributes")
+        );
+        Map<String, View> views = parseViews(
+                (List)resMap.get("views")
+        );
 
-            boolean authEnabled = (Boolean)resMap.get("authEnabled");
-            Resource resource = new Resource(
-                    id,
-                    name,
-                    attributes,
-                    views,
-                    auths,
-                    authEnabled);
-            parsedResources.put(name, resource);
-        }
-        return parsedResources;
+        List authResp = (List)resMap.get("auths");
+        Map<String, Auth> auths = authResp != null ? parseResourceAuths(authResp) : Collections.EMPTY_MAP;
+
+        boolean authEnabled = (Boolean)resMap.get("authEnabled");
+        return new Resource(
+                id,
+                name,
+                attributes,
+                views,
+                auths,
+                authEnabled);
     }
     
     private static Map<String, Attribute> parseAttributes(List<Map> attributes) {
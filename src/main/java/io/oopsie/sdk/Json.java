@@ -0,0 +1,53 @@
+package io.oopsie.sdk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Internally used by SDK to read and write JSON request and response bodies.
+ */
+final class Json {
+    
+    // timestamps are sent as ISO-8601 strings, whether set as Date or Instant
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .registerModule(new SimpleModule().addSerializer(Instant.class, ToStringSerializer.instance));
+
+    private Json() {
+    }
+    
+    /**
+     * Writes passed in value as JSON.
+     * @param value the value
+     * @return JSON bytes
+     * @throws IOException if not able to write value
+     */
+    static byte[] write(Object value) throws IOException {
+        return MAPPER.writeValueAsBytes(value);
+    }
+    
+    /**
+     * Reads a JSON object from passed in stream.
+     * @param in the stream
+     * @return the JSON object as a map or null if stream is empty
+     * @throws IOException if not able to read a JSON object
+     */
+    static Map<String, Object> readMap(InputStream in) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(in)) {
+            if(parser.nextToken() == null || parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            return parser.readValueAs(Map.class);
+        }
+    }
+}
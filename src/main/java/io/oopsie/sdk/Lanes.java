@@ -0,0 +1,94 @@
+package io.oopsie.sdk;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntFunction;
+
+/**
+ * Internally used by SDK to run many asynchronous tasks with bounded concurrency.
+ * Tasks are identified by index and grouped in lanes. The tasks of a lane run one
+ * after another in lane order, and at most a set number of lanes run at once. No
+ * thread is held while a task is in flight.
+ */
+final class Lanes {
+
+    private Lanes() {
+    }
+
+    /**
+     * Runs the tasks of passed in lanes.
+     *
+     * @param lanes the task indexes grouped in lanes
+     * @param concurrency maximum number of lanes running at once
+     * @param task starts the task of an index, returning a future completing when the task
+     * is done. The task is responsible for recording its outcome, a future completing
+     * exceptionally doesn't stop its lane.
+     * @return a future completing when all tasks are done
+     */
+    static CompletableFuture<Void> run(Collection<int[]> lanes, int concurrency,
+            IntFunction<CompletableFuture<?>> task) {
+
+        if(concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1");
+        }
+        Queue<int[]> queue = new ConcurrentLinkedQueue<>(lanes);
+        int workers = Math.min(concurrency, lanes.size());
+        CompletableFuture[] done = new CompletableFuture[workers];
+        for(int i = 0; i < workers; i++) {
+            Worker worker = new Worker(queue, task);
+            done[i] = worker.done;
+            worker.run();
+        }
+        return CompletableFuture.allOf(done);
+    }
+
+    /**
+     * Runs lanes from the queue until it is empty. Tasks completing right away are run
+     * in a loop rather than from completion callbacks to not grow the stack.
+     */
+    private static final class Worker {
+
+        private final Queue<int[]> queue;
+        private final IntFunction<CompletableFuture<?>> task;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private int[] lane = new int[0];
+        private int pos;
+
+        private Worker(Queue<int[]> queue, IntFunction<CompletableFuture<?>> task) {
+            this.queue = queue;
+            this.task = task;
+        }
+
+        private void run() {
+
+            while(true) {
+                if(pos == lane.length) {
+                    lane = queue.poll();
+                    pos = 0;
+                    if(lane == null) {
+                        done.complete(null);
+                        return;
+                    }
+                    continue;
+                }
+                CompletableFuture<?> running = start(lane[pos++]);
+                if(!running.isDone()) {
+                    running.whenComplete((result, error) -> run());
+                    return;
+                }
+            }
+        }
+
+        private CompletableFuture<?> start(int index) {
+            try {
+                return task.apply(index);
+            } catch(RuntimeException ex) {
+                CompletableFuture<?> failed = new CompletableFuture<>();
+                failed.completeExceptionally(ex);
+                return failed;
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package io.oopsie.sdk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Page states recorded while paging through all entities of a {@link GetStatement}'s
+ * view, splitting the pages into ranges that can be replayed in parallel. Record checkpoints by
+ * calling {@link Site#checkpoint(io.oopsie.sdk.GetStatement, int) } and replay them by
+ * calling {@link Site#replay(io.oopsie.sdk.GetStatement, io.oopsie.sdk.PageCheckpoints, int, java.nio.file.Path) }.
+ * <p>
+ * Checkpoints are saved to and loaded from a JSON file, which also tracks the ranges completely
+ * replayed so an interrupted replay can resume without fetching those ranges again.
+ */
+public final class PageCheckpoints {
+
+    private final UUID resourceId;
+    private final String view;
+    private final Integer limit;
+    private final List<String> pageStates;
+    private final Set<Integer> completed;
+
+    /**
+     * Used internally by SDK to create checkpoints.
+     *
+     * @param resourceId the id of the paged resource
+     * @param view the name of the paged view
+     * @param limit the page size limit of the recording pass or null if default
+     * @param pageStates the page state each range starts at, null for the first range
+     * @param completed the indexes of completed ranges
+     */
+    PageCheckpoints(UUID resourceId, String view, Integer limit, List<String> pageStates,
+            Set<Integer> completed) {
+        this.resourceId = resourceId;
+        this.view = view;
+        this.limit = limit;
+        this.pageStates = Collections.unmodifiableList(new ArrayList<>(pageStates));
+        this.completed = new TreeSet<>(completed);
+    }
+
+    /**
+     * Loads checkpoints from passed in file.
+     *
+     * @param file the checkpoint file
+     * @return the checkpoints
+     * @throws IOException if not able to read the file or the file doesn't hold checkpoints
+     */
+    public static PageCheckpoints load(Path file) throws IOException {
+
+        Map<String, Object> json;
+        try (InputStream in = Files.newInputStream(file)) {
+            json = Json.readMap(in);
+        }
+        try {
+            List<Integer> done = (List)json.get("completed");
+            return new PageCheckpoints(UUID.fromString((String)json.get("resource")),
+                    (String)json.get("view"),
+                    (Integer)json.get("limit"),
+                    (List)json.get("pageStates"),
+                    done != null ? new TreeSet<>(done) : Collections.emptySet());
+        } catch(NullPointerException | ClassCastException | IllegalArgumentException ex) {
+            throw new IOException("Not a page checkpoint file: " + file, ex);
+        }
+    }
+
+    /**
+     * Saves these checkpoints to passed in file. The file is replaced atomically, so a crash
+     * while saving never leaves a partially written file.
+     *
+     * @param file the checkpoint file
+     * @throws IOException if not able to write the file
+     */
+    public void save(Path file) throws IOException {
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("resource", resourceId.toString());
+        json.put("view", view);
+        json.put("limit", limit);
+        json.put("pageStates", pageStates);
+        synchronized(completed) {
+            json.put("completed", new ArrayList<>(completed));
+        }
+        byte[] bytes = Json.write(json);
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, bytes);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Returns the id of the paged resource.
+     * @return resource id
+     */
+    public UUID getResourceId() {
+        return resourceId;
+    }
+
+    /**
+     * Returns the name of the paged view.
+     * @return view name
+     */
+    public String getView() {
+        return view;
+    }
+
+    /**
+     * Returns the page size limit the checkpoints were recorded with. Ranges are replayed
+     * with the same limit, since page states only match between passes of the same page size.
+     * @return the limit or null if recorded with the default limit
+     */
+    public Integer getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the page state each range starts at, the first being null.
+     * @return page states
+     */
+    public List<String> getPageStates() {
+        return pageStates;
+    }
+
+    /**
+     * Returns the number of ranges.
+     * @return number of ranges
+     */
+    public int size() {
+        return pageStates.size();
+    }
+
+    /**
+     * Returns true if all rows of the range at passed in index were replayed.
+     * @param range the range index
+     * @return true if completed
+     */
+    public boolean isCompleted(int range) {
+        synchronized(completed) {
+            return completed.contains(range);
+        }
+    }
+
+    /**
+     * Returns true if all ranges were replayed.
+     * @return true if completed
+     */
+    public boolean isCompleted() {
+        synchronized(completed) {
+            return completed.size() == pageStates.size();
+        }
+    }
+
+    /**
+     * Clears all completed ranges, to replay all ranges again.
+     */
+    public void clearCompleted() {
+        synchronized(completed) {
+            completed.clear();
+        }
+    }
+
+    /**
+     * Internally used by SDK to mark a range as replayed.
+     * @param range the range index
+     */
+    void completed(int range) {
+        synchronized(completed) {
+            completed.add(range);
+        }
+    }
+}
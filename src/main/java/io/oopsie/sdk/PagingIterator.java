@@ -0,0 +1,101 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementExecutionException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Internally used by SDK to iterate the rows of all pages of a {@link GetStatement}.
+ * Pages are fetched on demand by following the statement's page state, and each
+ * page is released once its rows have been consumed. If prefetching, the next page is
+ * fetched in the background while the rows of current page are consumed, i.e. at most two
+ * pages are held in memory.
+ */
+class PagingIterator implements Iterator<Row> {
+    
+    private final Site site;
+    private final GetStatement statement;
+    private final List<String> cookies;
+    private final boolean prefetch;
+    
+    private Iterator<Row> current = Collections.emptyIterator();
+    private CompletableFuture<ResultSet> nextPage;
+    private boolean started;
+    private boolean lastPage;
+
+    PagingIterator(Site site, GetStatement statement, List<String> cookies, boolean prefetch) {
+        this.site = site;
+        this.statement = statement;
+        this.cookies = cookies;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while(!current.hasNext()) {
+            if(lastPage) {
+                return false;
+            }
+            current = fetchPage().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public Row next() {
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+    
+    /**
+     * Starts fetching the first page in the background. Only useful if prefetching.
+     */
+    void start() {
+        if(!started) {
+            started = true;
+            if(prefetch) {
+                nextPage = site.executeAsync(statement, cookies);
+            }
+        }
+    }
+    
+    private ResultSet fetchPage() {
+        
+        start();
+        ResultSet page;
+        if(prefetch) {
+            page = join(nextPage);
+            nextPage = null;
+        } else {
+            page = site.execute(statement, cookies);
+        }
+        
+        // last page is empty or has no page state
+        if(page.isExhausted() || !statement.hasMorePages()) {
+            lastPage = true;
+        } else {
+            statement.nextPage();
+            if(prefetch) {
+                nextPage = site.executeAsync(statement, cookies);
+            }
+        }
+        return page;
+    }
+    
+    private static ResultSet join(CompletableFuture<ResultSet> future) {
+        try {
+            return future.join();
+        } catch(CompletionException ex) {
+            if(ex.getCause() instanceof StatementExecutionException) {
+                throw (StatementExecutionException)ex.getCause();
+            }
+            throw new StatementExecutionException("Severe: " + ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+}
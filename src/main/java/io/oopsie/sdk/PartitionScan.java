@@ -0,0 +1,312 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementExecutionException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntConsumer;
+
+/**
+ * Internally used by SDK to iterate the rows of many {@link GetStatement}s, one per
+ * partition, paging through the partitions in parallel. Every partition has at most one
+ * page in flight and one page held in memory.
+ * <p>
+ * Unordered, at most parallelism partitions are scanned at once and the rows of whichever
+ * page arrives first are returned first. Ordered, the partitions' rows are merged by passed
+ * in order, which needs the current page of every partition, so all partitions are scanned
+ * at once while at most parallelism pages are fetched ahead of being needed.
+ * <p>
+ * A partition may end before its statement runs out of pages, at a page state where another
+ * partition starts, see {@link PageCheckpoints}. A partition may be aborted while scanned,
+ * its remaining rows are then skipped.
+ */
+class PartitionScan implements Iterator<Row> {
+
+    private final Site site;
+    private final List<String> cookies;
+    private final Comparator<Row> order;
+    private final int parallelism;
+    private final IntConsumer consumed;
+
+    private final Partition[] partitions;
+    private final Deque<Partition> pending;
+    private final List<Partition> active = new ArrayList<>();
+    private final PriorityQueue<Partition> heads;
+    private Iterator<Row> current = Collections.emptyIterator();
+    private int currentIndex = -1;
+    private int currentLast = -1;
+    private int prefetched;
+    private boolean started;
+
+    PartitionScan(Site site, List<GetStatement> partitions, Comparator<Row> order, int parallelism,
+            List<String> cookies) {
+        this(site, partitions, null, order, parallelism, cookies, null);
+    }
+
+    /**
+     * Creates a scan of partitions ending at passed in page states.
+     *
+     * @param site the site
+     * @param partitions a statement per partition
+     * @param ends the page state each partition ends at, null to end at its last page
+     * @param order the order to merge rows by or null
+     * @param parallelism maximum number of pages fetched at once
+     * @param cookies the auth cookies or null
+     * @param consumed called with the index of a partition once all its rows were returned, or null
+     */
+    PartitionScan(Site site, List<GetStatement> partitions, List<String> ends, Comparator<Row> order,
+            int parallelism, List<String> cookies, IntConsumer consumed) {
+
+        if(parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.site = site;
+        this.cookies = cookies;
+        this.order = order;
+        this.parallelism = parallelism;
+        this.consumed = consumed;
+        this.partitions = new Partition[partitions.size()];
+        this.pending = new ArrayDeque<>(partitions.size());
+        for(int i = 0; i < partitions.size(); i++) {
+            this.partitions[i] = new Partition(i, partitions.get(i), ends != null ? ends.get(i) : null);
+            pending.add(this.partitions[i]);
+        }
+        // equal rows are returned in partition order
+        this.heads = order != null ? new PriorityQueue<Partition>(Math.max(1, partitions.size()), (a, b) -> {
+            int c = order.compare(a.head, b.head);
+            return c != 0 ? c : Integer.compare(a.index, b.index);
+        }) : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        start();
+        return order != null ? !heads.isEmpty() : nextUnordered();
+    }
+
+    @Override
+    public Row next() {
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if(order == null) {
+            return current.next();
+        }
+        Partition partition = heads.poll();
+        Row row = partition.head;
+        if(partition.advance()) {
+            heads.add(partition);
+        } else {
+            consumed(partition);
+        }
+        return row;
+    }
+
+    /**
+     * Stops scanning the partition at passed in index. Its remaining rows are skipped, any
+     * page in flight is discarded and it is never reported consumed.
+     *
+     * @param index the partition index
+     */
+    void abort(int index) {
+
+        Partition partition = partitions[index];
+        pending.remove(partition);
+        active.remove(partition);
+        if(heads != null) {
+            heads.remove(partition);
+        }
+        if(partition.ahead) {
+            partition.ahead = false;
+            prefetched--;
+        }
+        partition.page = null;
+        partition.rows = Collections.emptyIterator();
+        partition.lastPage = true;
+        if(currentIndex == index) {
+            current = Collections.emptyIterator();
+            currentIndex = -1;
+        }
+        if(currentLast == index) {
+            currentLast = -1;
+        }
+        if(started && order == null) {
+            fill();
+        }
+    }
+
+    private void start() {
+
+        if(started) {
+            return;
+        }
+        started = true;
+        if(order == null) {
+            fill();
+            return;
+        }
+        // the first page of every partition is needed before the first row can be returned
+        List<int[]> lanes = new ArrayList<>(pending.size());
+        List<Partition> partitions = new ArrayList<>(pending);
+        pending.clear();
+        for(int i = 0; i < partitions.size(); i++) {
+            lanes.add(new int[] {i});
+        }
+        join(Lanes.run(lanes, parallelism, i -> partitions.get(i).fetch()));
+        for(Partition partition : partitions) {
+            if(partition.advance()) {
+                heads.add(partition);
+            } else {
+                consumed(partition);
+            }
+        }
+    }
+
+    private boolean nextUnordered() {
+
+        while(!current.hasNext()) {
+            if(currentLast >= 0) {
+                if(consumed != null) {
+                    consumed.accept(currentLast);
+                }
+                currentLast = -1;
+            }
+            if(active.isEmpty()) {
+                return false;
+            }
+            CompletableFuture[] pages = new CompletableFuture[active.size()];
+            for(int i = 0; i < pages.length; i++) {
+                pages[i] = active.get(i).page;
+            }
+            join(CompletableFuture.anyOf(pages));
+            for(Iterator<Partition> it = active.iterator(); it.hasNext();) {
+                Partition partition = it.next();
+                if(partition.page.isDone()) {
+                    ResultSet page = partition.take();
+                    if(partition.lastPage) {
+                        currentLast = partition.index;
+                        it.remove();
+                    } else {
+                        partition.fetch();
+                    }
+                    current = page.iterator();
+                    currentIndex = partition.index;
+                    break;
+                }
+            }
+            fill();
+        }
+        return true;
+    }
+
+    /**
+     * Starts scanning pending partitions until parallelism partitions are scanned.
+     */
+    private void fill() {
+        while(active.size() < parallelism && !pending.isEmpty()) {
+            Partition partition = pending.poll();
+            partition.fetch();
+            active.add(partition);
+        }
+    }
+
+    private void consumed(Partition partition) {
+        if(consumed != null) {
+            consumed.accept(partition.index);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch(CompletionException ex) {
+            if(ex.getCause() instanceof StatementExecutionException) {
+                throw (StatementExecutionException)ex.getCause();
+            }
+            throw new StatementExecutionException("Severe: " + ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    /**
+     * The paging state of one partition.
+     */
+    private final class Partition {
+
+        private final int index;
+        private final GetStatement statement;
+        private final String end;
+        private CompletableFuture<ResultSet> page;
+        private Iterator<Row> rows = Collections.emptyIterator();
+        private Row head;
+        private boolean lastPage;
+        private boolean ahead;
+
+        private Partition(int index, GetStatement statement, String end) {
+            this.index = index;
+            this.statement = statement;
+            this.end = end;
+        }
+
+        private CompletableFuture<ResultSet> fetch() {
+            page = site.executeAsync(statement, cookies);
+            return page;
+        }
+
+        /**
+         * Returns the fetched page and moves the statement to the next page.
+         */
+        private ResultSet take() {
+
+            ResultSet result = join(page);
+            page = null;
+            // last page is empty, has no page state or is followed by the next partition's first page
+            if(result.isExhausted() || !statement.hasMorePages()
+                    || (end != null && end.equals(statement.getPageState()))) {
+                lastPage = true;
+            } else {
+                statement.nextPage();
+            }
+            return result;
+        }
+
+        /**
+         * Moves head to the next row of this partition, fetching pages as needed. The next
+         * page is prefetched while the current page is consumed if not too many pages already
+         * are in flight.
+         *
+         * @return false if no more rows
+         */
+        private boolean advance() {
+
+            while(!rows.hasNext()) {
+                if(page == null) {
+                    if(lastPage) {
+                        head = null;
+                        return false;
+                    }
+                    fetch();
+                }
+                if(ahead) {
+                    ahead = false;
+                    prefetched--;
+                }
+                rows = take().iterator();
+                if(!lastPage && prefetched < parallelism) {
+                    fetch();
+                    ahead = true;
+                    prefetched++;
+                }
+            }
+            head = rows.next();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementParamException;
+import io.oopsie.sdk.transport.RequestMethod;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A reusable and thread safe template of a {@link Statement}, created by calling
+ * {@link Site#prepare(io.oopsie.sdk.Statement, java.lang.String...) }. Everything that
+ * doesn't change between executions, i.e. the request URI, the template's params and the
+ * site and auth headers, is computed once when prepared. Bind values to the named params to
+ * get an immutable {@link BoundStatement}, which can be executed by any number of threads at once.
+ * <p>
+ * A prepared statement uses the api key the {@link Site} had when the statement was prepared.
+ *
+ * <pre>
+ * PreparedStatement getBook = site.prepare(bookRes.get(), "id");
+ * ResultSet result = getBook.bind(bookId).execute();
+ * </pre>
+ */
+public final class PreparedStatement {
+
+    private final Site site;
+    private final Resource resource;
+    private final String view;
+    private final RequestMethod requestMethod;
+    private final String baseUri;
+    private final Map<String, Object> queryParams;
+    private final Map<String, Object> bodyParams;
+    private final List<String> paramNames;
+    private final boolean[] bodySlots;
+    private final Map<String, List<String>> headers;
+
+    /**
+     * Used internally to prepare a statement.
+     *
+     * @param site the site to execute through
+     * @param template the statement holding the resource, view and any params common to all executions
+     * @param paramNames the names of the params to bind
+     * @param apiUri the site's api URI
+     * @param customerId the customer id
+     * @param siteId the site id
+     * @param apiKey the api key
+     * @throws StatementParamException if a param name is not part of the template's resource
+     * or already has a value in the template
+     */
+    PreparedStatement(Site site, Statement template, String[] paramNames, URI apiUri,
+            UUID customerId, UUID siteId, String apiKey) throws StatementParamException {
+
+        this.site = site;
+        this.resource = template.getResource();
+        this.requestMethod = template.getRequestMethod();
+        this.view = template.getView();
+
+        StringBuilder uri = new StringBuilder(apiUri.toString())
+                .append("/resources/")
+                .append(resource.getResourceId().toString());
+        if(resource.getViewNames().contains(view)) {
+            uri.append("/views/");
+            Http.encode(uri, view, false);
+        }
+
+        Map<String, Object> templateQuery = template.getQueryparams();
+        this.queryParams = templateQuery != null
+                ? Collections.unmodifiableMap(new LinkedHashMap<>(templateQuery)) : Collections.emptyMap();
+        queryParams.forEach((k,v) -> appendQueryParam(uri, k, v));
+        this.baseUri = uri.toString();
+        Map<String, Object> templateBody = template.getBodyParams();
+        this.bodyParams = templateBody != null
+                ? Collections.unmodifiableMap(new LinkedHashMap<>(templateBody)) : null;
+
+        boolean sendsBody = requestMethod.equals(RequestMethod.PUT) || requestMethod.equals(RequestMethod.POST);
+        this.bodySlots = new boolean[paramNames.length];
+        for(int i = 0; i < paramNames.length; i++) {
+            template.validateParamName(paramNames[i]);
+            if(queryParams.containsKey(paramNames[i])
+                    || (bodyParams != null && bodyParams.containsKey(paramNames[i]))) {
+                throw new StatementParamException("Param '" + paramNames[i] + "' already has a value"
+                        + " in the template statement.");
+            }
+            bodySlots[i] = sendsBody && resource.getAllSettableAttributeNames().contains(paramNames[i]);
+        }
+        this.paramNames = Collections.unmodifiableList(Arrays.asList(paramNames.clone()));
+
+        Map<String, List<String>> siteHeaders = Http.siteHeaders(customerId, siteId);
+        siteHeaders.put("Accept", Http.APPLICATION_JSON);
+        siteHeaders.put("Authorization", Collections.singletonList(apiKey));
+        this.headers = Collections.unmodifiableMap(siteHeaders);
+    }
+
+    /**
+     * Binds values to the params of this prepared statement, in the order the param
+     * names were passed in when prepared.
+     *
+     * @param values the param values
+     * @return a bound statement ready to execute
+     * @throws StatementParamException if number of values doesn't match number of params
+     */
+    public BoundStatement bind(Object... values) throws StatementParamException {
+
+        if(values.length != paramNames.size()) {
+            throw new StatementParamException("Expected " + paramNames.size() + " values but got "
+                    + values.length + ".");
+        }
+        return new BoundStatement(this, values.clone());
+    }
+
+    /**
+     * Binds values mapped to the param names of this prepared statement.
+     *
+     * @param values the param values mapped to param names
+     * @return a bound statement ready to execute
+     * @throws StatementParamException if any param of this statement has no value
+     */
+    public BoundStatement bind(Map<String, Object> values) throws StatementParamException {
+
+        Object[] bound = new Object[paramNames.size()];
+        for(int i = 0; i < bound.length; i++) {
+            String name = paramNames.get(i);
+            if(!values.containsKey(name)) {
+                throw new StatementParamException("No value for param '" + name + "'.");
+            }
+            bound[i] = values.get(name);
+        }
+        return new BoundStatement(this, bound);
+    }
+
+    /**
+     * Returns the resource of this prepared statement.
+     * @return the resource
+     */
+    public Resource getResource() {
+        return resource;
+    }
+
+    /**
+     * Returns the names of the params to bind, in bind order.
+     * @return param names
+     */
+    public List<String> getParamNames() {
+        return paramNames;
+    }
+
+    Site site() {
+        return site;
+    }
+
+    String view() {
+        return view;
+    }
+
+    RequestMethod requestMethod() {
+        return requestMethod;
+    }
+
+    Map<String, List<String>> headers() {
+        return headers;
+    }
+
+    /**
+     * Returns all query params of passed in bound values.
+     */
+    Map<String, Object> queryParams(Object[] values) {
+
+        Map<String, Object> params = new LinkedHashMap<>(queryParams);
+        for(int i = 0; i < values.length; i++) {
+            if(!bodySlots[i]) {
+                params.put(paramNames.get(i), values[i]);
+            }
+        }
+        return params;
+    }
+
+    /**
+     * Returns the body params of passed in bound values, null if nothing is sent in the body.
+     */
+    Map<String, Object> bodyParams(Object[] values) {
+
+        Map<String, Object> params = bodyParams != null ? new HashMap<>(bodyParams) : null;
+        for(int i = 0; i < values.length; i++) {
+            if(bodySlots[i]) {
+                if(params == null) {
+                    params = new HashMap<>();
+                }
+                params.put(paramNames.get(i), values[i]);
+            }
+        }
+        return params;
+    }
+
+    /**
+     * Returns the request URI of passed in bound values.
+     */
+    URI uri(Object[] values) {
+
+        StringBuilder uri = new StringBuilder(baseUri.length() + 32 * values.length).append(baseUri);
+        for(int i = 0; i < values.length; i++) {
+            if(!bodySlots[i]) {
+                appendQueryParam(uri, paramNames.get(i), values[i]);
+            }
+        }
+        return URI.create(uri.toString());
+    }
+
+    private static void appendQueryParam(StringBuilder uri, String name, Object value) {
+        if(value instanceof Date) {
+            value = ((Date)value).toInstant();
+        }
+        Http.appendQueryParam(uri, name, value);
+    }
+}
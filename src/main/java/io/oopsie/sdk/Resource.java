@@ -1,14 +1,17 @@
 package io.oopsie.sdk;
 
+import io.oopsie.sdk.error.DataTypeException;
+import io.oopsie.sdk.error.NotFoundInModelException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * A handle to a specific resource defined in an OOPSIE Cloud {@link Site}.
@@ -21,6 +24,13 @@ public class Resource {
     private final Map<String, View> views;
     private final Map<String, Auth> auths;
     private final boolean authEnabled;
+    
+    // precomputed once, resources are immutable
+    private final Set<String> attributeNames;
+    private final List<Attribute> settableAttributes;
+    private final Set<String> settableAttributeNames;
+    private final View primaryView;
+    private final Set<String> viewNames;
 
     /**
      * 
@@ -46,6 +56,35 @@ public class Resource {
         this.views = views;
         this.auths = auths;
         this.authEnabled = authEnabled;
+        
+        this.attributeNames = Collections.unmodifiableSet(attributes.keySet());
+        this.settableAttributes = Collections.unmodifiableList(settableAttributes(attributes.values()));
+        // all attributes are accepted as settable by statements
+        this.settableAttributeNames = Collections.unmodifiableSet(new HashSet<>(attributes.keySet()));
+        this.primaryView = views.values().stream().filter(view -> view.isPrimary()).findAny().orElse(null);
+        this.viewNames = Collections.unmodifiableSet(views.keySet());
+    }
+    
+    private static List<Attribute> settableAttributes(Collection<Attribute> attributes) {
+        
+        List<Attribute> settableAttribs = new ArrayList<>();
+        for(Attribute a : attributes) {
+            if(a.getName().equalsIgnoreCase("id")) {
+                continue;
+            } else if(
+                a.getType().equals(DataType.CHANGED_AT)
+                ||
+                a.getType().equals(DataType.CHANGED_BY)
+                ||
+                a.getType().equals(DataType.CREATED_AT)
+                ||
+                a.getType().equals(DataType.CREATED_BY)) {
+                continue;
+            } else {
+                settableAttribs.add(a);
+            }
+        }
+        return settableAttribs;
     }
 
     
@@ -79,7 +118,7 @@ public class Resource {
      * @return all attribute names
      */
     public final Set<String> getAttributeNames() {
-        return Collections.unmodifiableSet(attributes.keySet());
+        return attributeNames;
     }
     
     /**
@@ -87,25 +126,7 @@ public class Resource {
      * @return settable attributes.
      */
     public List<Attribute> getAllSettableAttributes() {
-        
-        List<Attribute> settableAttribs = new ArrayList();
-        for(Attribute a : attributes.values()) {
-            if(a.getName().equalsIgnoreCase("id")) {
-                continue;
-            } else if(
-                a.getType().equals(DataType.CHANGED_AT)
-                ||
-                a.getType().equals(DataType.CHANGED_BY)
-                ||
-                a.getType().equals(DataType.CREATED_AT)
-                ||
-                a.getType().equals(DataType.CREATED_BY)) {
-                continue;
-            } else {
-                settableAttribs.add(a);
-            }
-        }
-        return Collections.unmodifiableList(settableAttribs);
+        return settableAttributes;
     }
     
     /**
@@ -113,19 +134,7 @@ public class Resource {
      * @return settable attribute names.
      */
     public Set<String> getAllSettableAttributeNames() {
-        
-        List<Attribute> settableAttribs = attributes.values().stream().filter(a -> 
-                a.getName().equalsIgnoreCase("id")
-                ||
-                !a.getType().equals(DataType.CHANGED_AT)
-                ||
-                !a.getType().equals(DataType.CHANGED_BY)
-                ||
-                !a.getType().equals(DataType.CREATED_AT)
-                ||
-                !a.getType().equals(DataType.CREATED_BY)).collect(Collectors.toList());
-        
-        return settableAttribs.stream().map(a -> a.getName()).collect(Collectors.toSet());
+        return settableAttributeNames;
     }
     
     /**
@@ -143,7 +152,10 @@ public class Resource {
      * @return the primary view
      */
     public View getPrimaryView() {
-        return views.values().stream().filter(view -> view.isPrimary()).findAny().get();
+        if(primaryView == null) {
+            throw new NoSuchElementException("'" + name + "' has no primary view.");
+        }
+        return primaryView;
     }
     
     /**
@@ -151,7 +163,7 @@ public class Resource {
      * @return the primary view name
      */
     public final String getPrimaryViewName() {
-        return views.values().stream().filter(view -> view.isPrimary()).findAny().get().getName();
+        return getPrimaryView().getName();
     }
 
     /**
@@ -168,7 +180,11 @@ public class Resource {
      * @return the named View
      */
     public View getView(String name) {
-        return views.values().stream().filter(view -> view.getName().equals(name)).findAny().get();
+        View view = views.get(name);
+        if(view == null) {
+            throw new NoSuchElementException("'" + name + "' is not a view of '" + this.name + "'.");
+        }
+        return view;
     }
     
     /**
@@ -176,7 +192,7 @@ public class Resource {
      * @return all of view names
      */
     public final Set<String> getViewNames() {
-        return Collections.unmodifiableSet(views.keySet());
+        return viewNames;
     }
     
     /**
@@ -215,6 +231,29 @@ public class Resource {
         return this.attributes.get(name);
     }
 
+    /**
+     * Returns a typed {@link Column} handle for the named attribute, used to read
+     * the attribute's value from {@link Row}s of this resource without per call name
+     * lookups and type checks. Create the handle once and reuse it.
+     * 
+     * @param <T> the Java type of the column values
+     * @param name the attribute name
+     * @param javaType the Java type to read values as, e.g. String.class for a TEXT attribute or
+     * Date.class or Instant.class for a TIMESTAMP attribute
+     * @return a column handle
+     * @throws NotFoundInModelException if name is not an attribute of this resource
+     * @throws DataTypeException if the attribute's data type can't be read as javaType
+     */
+    public <T> Column<T> column(String name, Class<T> javaType)
+            throws NotFoundInModelException, DataTypeException {
+        
+        Attribute attribute = getAttribute(name);
+        if(attribute == null) {
+            throw new NotFoundInModelException("'" + name + "' not part of this resource.");
+        }
+        return new Column<>(attribute, javaType);
+    }
+
     /**
      * Returns a {@link CreateStatement}.
      * 
@@ -271,6 +310,18 @@ public class Resource {
         return new GetStatement(this, view);
     }
     
+    /**
+     * Returns a mutable {@link Entity} of a fetched row of this resource, tracking changed
+     * attributes so that saving an unchanged entity can be skipped.
+     * 
+     * @param row a row of this resource
+     * @return an {@link Entity}
+     * @see Site#save(io.oopsie.sdk.Entity) 
+     */
+    public Entity entity(Row row) {
+        return new Entity(this, row);
+    }
+    
     /**
      * Returns a {@link DeleteStatement} for this resource. You need to set
      * the specific reource enitity's primary key params.
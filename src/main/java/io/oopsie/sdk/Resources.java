@@ -1,22 +1,30 @@
 package io.oopsie.sdk;
 
 import io.oopsie.sdk.error.NotFoundInModelException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /**
- * Holds all resources for an {@link Application}
+ * Holds all resources for an {@link Application}. A {@link Resource} is built
+ * from the site model on first access, and its raw tree is dropped once built.
  */
 public class Resources {
     
-    private final Map<String, Resource> resources;
+    private final Set<String> names;
+    private final Map<String, Map> rawResources;
+    private final Map<String, Resource> resources = new ConcurrentHashMap<>();
 
     /**
      * Creates new Resources.
-     * @param resources the reosurces
+     * @param rawResources the raw resources of the site model mapped to their names
      */
-    Resources(Map<String, Resource> resources) {
-        this.resources = resources;
+    Resources(Map<String, Map> rawResources) {
+        this.names = Collections.unmodifiableSet(new LinkedHashSet<>(rawResources.keySet()));
+        this.rawResources = new ConcurrentHashMap<>(rawResources);
     }
     
     /**
@@ -25,10 +33,11 @@ public class Resources {
      * @param name name of resource
      */
     public final Resource getResource(String name) throws NotFoundInModelException {
-        if(!resources.containsKey(name)) {
+        if(!names.contains(name)) {
             throw new NotFoundInModelException("'" + name + "' not part of this site model.");
         }
-        return this.resources.get(name);
+        return this.resources.computeIfAbsent(name,
+                resName -> InitParser.parseResource(rawResources.remove(resName)));
     }
     
     /**
@@ -36,6 +45,6 @@ public class Resources {
      * @return a stream of resources.
      */
     public final Stream<Resource> stream() {
-        return resources.values().stream();
+        return names.stream().map(this::getResource);
     }
 }
@@ -0,0 +1,264 @@
+package io.oopsie.sdk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.oopsie.sdk.ResultSet.RowColumnMetaData;
+import io.oopsie.sdk.error.DataTypeException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Internally used by SDK to decode a response body straight into {@link Row}s.
+ * The body is read token by token, so entities are never materialized as
+ * intermediate JSON maps. Only columns that are attributes of the {@link Resource}
+ * are kept, the rest are skipped without being decoded.
+ */
+final class ResultDecoder {
+    
+    private static final Set<String> IGNORED = IgnoredType.names();
+    
+    private final Resource resource;
+    private ColumnIndex columns;
+    private final List<Row> rows = new ArrayList<>();
+    private String pageState;
+
+    private ResultDecoder(Resource resource) {
+        this.resource = resource;
+    }
+    
+    /**
+     * Decodes a GET response body, i.e. an object holding an "entities" array
+     * and "metadata".
+     * 
+     * @param resource the resource of the entities
+     * @param in the response body
+     * @return the decoder holding the decoded result
+     * @throws IOException if not able to read the body
+     */
+    static ResultDecoder decodeEntities(Resource resource, InputStream in) throws IOException {
+        
+        ResultDecoder decoder = new ResultDecoder(resource);
+        try (JsonParser parser = Json.MAPPER.getFactory().createParser(in)) {
+            if(parser.nextToken() != JsonToken.START_OBJECT) {
+                return decoder;
+            }
+            while(parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if("entities".equals(field) && token == JsonToken.START_ARRAY) {
+                    while(parser.nextToken() == JsonToken.START_OBJECT) {
+                        decoder.decodeEntity(parser);
+                    }
+                } else if("metadata".equals(field) && token == JsonToken.START_OBJECT) {
+                    decoder.decodeMetadata(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return decoder;
+    }
+    
+    /**
+     * Decodes a response body holding a single entity object.
+     * 
+     * @param resource the resource of the entity
+     * @param in the response body
+     * @return the decoder holding the decoded result
+     * @throws IOException if not able to read the body
+     */
+    static ResultDecoder decodeEntity(Resource resource, InputStream in) throws IOException {
+        
+        ResultDecoder decoder = new ResultDecoder(resource);
+        try (JsonParser parser = Json.MAPPER.getFactory().createParser(in)) {
+            if(parser.nextToken() == JsonToken.START_OBJECT) {
+                decoder.decodeEntity(parser);
+            }
+        }
+        return decoder;
+    }
+    
+    /**
+     * Returns the column index, taken from the columns of the first entity.
+     * @return column index
+     */
+    ColumnIndex getColumns() {
+        return columns != null ? columns : ColumnIndex.EMPTY;
+    }
+
+    /**
+     * Returns the decoded rows.
+     * @return the rows
+     */
+    List<Row> getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the page state found in metadata.
+     * @return page state or null
+     */
+    String getPageState() {
+        return pageState;
+    }
+    
+    private void decodeEntity(JsonParser parser) throws IOException {
+        
+        if(columns == null) {
+            decodeFirstEntity(parser);
+            return;
+        }
+        
+        Object[] values = new Object[columns.size()];
+        while(parser.nextToken() == JsonToken.FIELD_NAME) {
+            int col = columns.indexOf(parser.getCurrentName());
+            JsonToken token = parser.nextToken();
+            if(col >= 0) {
+                values[col] = readValue(parser, token, columns.type(col));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        rows.add(new Row(columns, values));
+    }
+    
+    /**
+     * The first entity decides the columns of the result.
+     */
+    private void decodeFirstEntity(JsonParser parser) throws IOException {
+        
+        Map<String, RowColumnMetaData> metas = new TreeMap<>();
+        Map<String, Object> row = new HashMap<>();
+        while(parser.nextToken() == JsonToken.FIELD_NAME) {
+            String column = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            Attribute attrib = IGNORED.contains(column) ? null : resource.getAttribute(column);
+            if(attrib != null) {
+                metas.put(column, new RowColumnMetaData(column, attrib.getType()));
+                row.put(column, readValue(parser, token, attrib.getType()));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        
+        columns = new ColumnIndex(metas);
+        Object[] values = new Object[columns.size()];
+        row.forEach((column, value) -> values[columns.indexOf(column)] = value);
+        rows.add(new Row(columns, values));
+    }
+    
+    private void decodeMetadata(JsonParser parser) throws IOException {
+        
+        while(parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if("pageState".equals(field) && token != JsonToken.VALUE_NULL) {
+                pageState = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+    
+    /**
+     * Reads the current value coerced to the Java type of the declared data type,
+     * JSON numbers are otherwise decoded as whatever type fits the value
+     * and numbers are sometimes sent as strings. Timestamps are decoded to
+     * {@link Instant} and UUIDs to {@link java.util.UUID} once, straight from the parser's chars.
+     */
+    private static Object readValue(JsonParser parser, JsonToken token, DataType dataType) throws IOException {
+        
+        if(token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        try {
+            switch(dataType) {
+                case BOOLEAN:
+                    return token == JsonToken.VALUE_STRING
+                            ? Boolean.valueOf(parser.getText().trim())
+                            : parser.getValueAsBoolean();
+                case INTEGER:
+                    return token == JsonToken.VALUE_STRING
+                            ? Integer.parseInt(parser.getText().trim())
+                            : parser.getIntValue();
+                case BIG_INTEGER:
+                    return token == JsonToken.VALUE_STRING
+                            ? Long.parseLong(parser.getText().trim())
+                            : parser.getLongValue();
+                case DECIMAL:
+                    return token == JsonToken.VALUE_STRING
+                            ? Double.parseDouble(parser.getText().trim())
+                            : parser.getDoubleValue();
+                case TIMESTAMP:
+                case CHANGED_AT:
+                case CREATED_AT:
+                    return token == JsonToken.VALUE_STRING
+                            ? ValueParsers.parseInstant(parser.getTextCharacters(),
+                                    parser.getTextOffset(), parser.getTextLength())
+                            : Instant.parse(parser.getText());
+                case UUID:
+                case CHANGED_BY:
+                case CREATED_BY:
+                    return token == JsonToken.VALUE_STRING
+                            ? ValueParsers.parseUUID(parser.getTextCharacters(),
+                                    parser.getTextOffset(), parser.getTextLength())
+                            : java.util.UUID.fromString(parser.getText());
+                case TEXT:
+                    return token.isScalarValue() ? parser.getText() : unmodifiable(parser.readValueAs(Object.class));
+                default:
+                    return readValue(parser, token);
+            }
+        } catch(IllegalArgumentException | DateTimeException ex) {
+            throw new DataTypeException("Can't cast " + parser.getText() + " to "
+                    + dataType.getHumanName() + ".", ex);
+        }
+    }
+    
+    private static Object readValue(JsonParser parser, JsonToken token) throws IOException {
+        
+        switch(token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            default:
+                // collections, maps and tuples
+                return unmodifiable(parser.readValueAs(Object.class));
+        }
+    }
+    
+    /**
+     * Wraps decoded lists and maps, and any nested in them, as unmodifiable, since rows
+     * may be shared by cached and coalesced results.
+     */
+    private static Object unmodifiable(Object value) {
+        
+        if(value instanceof List) {
+            List list = (List)value;
+            list.replaceAll(ResultDecoder::unmodifiable);
+            return Collections.unmodifiableList(list);
+        }
+        if(value instanceof Map) {
+            Map<Object, Object> map = (Map)value;
+            map.replaceAll((key, nested) -> unmodifiable(nested));
+            return Collections.unmodifiableMap(map);
+        }
+        return value;
+    }
+}
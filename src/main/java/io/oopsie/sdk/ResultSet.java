@@ -1,28 +1,37 @@
 package io.oopsie.sdk;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Deque;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Holds ({@link Row}s) information for an executed {@link Statement}.
- * 
- * Note, instances of this class are not thread safe.
+ * <p>
+ * The rows are held in an immutable array and can be read in two ways. Iterating the
+ * result or calling {@link #one()} consumes rows, i.e. each row is returned once. Note,
+ * consuming rows is not thread safe. Streaming the result by {@link #stream()} or
+ * {@link #parallelStream()} doesn't consume any rows and splits the remaining rows across
+ * threads without copying them.
  * 
  */
 public class ResultSet implements Iterable<Row> {
     
     private final boolean applied;
     private final Statement statement;
-    private final Deque<Row> rows = new ArrayDeque();
-    private Map<String, RowColumnMetaData> columnMetaData;
+    private static final Row[] NO_ROWS = new Row[0];
+    
+    private final Row[] rows;
+    private int position;
+    private ColumnIndex columns = ColumnIndex.EMPTY;
+    private String pageState;
     
     /**
      * Used internally by SDK to produce a {@link Statement} result.
@@ -33,6 +42,7 @@ public class ResultSet implements Iterable<Row> {
     ResultSet(Statement statement, boolean applied) {
         this.statement = statement;
         this.applied = applied;   
+        this.rows = NO_ROWS;
     }
     
     /**
@@ -40,12 +50,44 @@ public class ResultSet implements Iterable<Row> {
      * 
      * @param statement the statement that produced the result.
      * @param applied whether the {@link Statement} was appleid or not.
-     * @param data
+     * @param columns the column index of the rows
+     * @param rows the rows
+     */
+    ResultSet(Statement statement, boolean applied, ColumnIndex columns, List<Row> rows) {
+        this(statement, applied, columns, rows, null);
+    }
+    
+    /**
+     * Used internally by SDK to produce a {@link Statement} or {@link BoundStatement} result.
+     * 
+     * @param statement the statement that produced the result or null for bound statements.
+     * @param applied whether the {@link Statement} was appleid or not.
+     * @param columns the column index of the rows
+     * @param rows the rows
+     * @param pageState the page state of the result or null
      */
-    ResultSet(Statement statement, boolean applied, List<Map<String, Object>> data) {
+    ResultSet(Statement statement, boolean applied, ColumnIndex columns, List<Row> rows, String pageState) {
         this.statement = statement;
         this.applied = applied;
-        createRows(data);
+        this.columns = columns;
+        this.rows = rows.isEmpty() ? NO_ROWS : rows.toArray(new Row[rows.size()]);
+        this.pageState = pageState;
+    }
+    
+    /**
+     * Internally used by SDK to get the column index of the rows.
+     * @return the column index
+     */
+    ColumnIndex columns() {
+        return columns;
+    }
+    
+    /**
+     * Internally used by SDK to copy the rows not yet fetched from this result.
+     * @return the remaining rows
+     */
+    List<Row> remainingRows() {
+        return all();
     }
     
     /**
@@ -63,32 +105,77 @@ public class ResultSet implements Iterable<Row> {
      * @return true if exhausted.
      */
     public boolean isExhausted() {
-        return this.rows.isEmpty();
+        return position == rows.length;
     }
 
     /**
      * Return the {@link Statement} that produced this {@link ResultSet}.
-     * @return a {@link Statement}
+     * @return a {@link Statement} or null if produced by a {@link BoundStatement}
      */
     public Statement getStatement() {
         return statement;
     }
 
+    /**
+     * Returns the page state of a GET result. If not null, use it to fetch the next page.
+     * @return page state or null
+     * @see GetStatement#page(java.lang.String) 
+     */
+    public String getPageState() {
+        return pageState;
+    }
+
+    /**
+     * Returns an iterator consuming the rows of this result.
+     * @return a consuming iterator
+     */
     @Override
     public Iterator<Row> iterator() {
         return new Iterator<Row>() {
             @Override
             public boolean hasNext() {
-                return !ResultSet.this.rows.isEmpty();
+                return !isExhausted();
             }
 
             @Override
             public Row next() {
-                return ResultSet.this.rows.poll();
+                if(isExhausted()) {
+                    throw new NoSuchElementException();
+                }
+                return rows[position++];
             }
         };
     }
     
+    /**
+     * Returns a sized and splittable spliterator of the remaining rows. Unlike
+     * {@link #iterator() } no rows are consumed.
+     * @return a spliterator of the remaining rows
+     */
+    @Override
+    public Spliterator<Row> spliterator() {
+        return Arrays.spliterator(rows, position, rows.length);
+    }
+    
+    /**
+     * Returns a sequential stream of the remaining rows, without consuming them.
+     * @return a stream of rows
+     * @see #parallelStream() 
+     */
+    public Stream<Row> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+    
+    /**
+     * Returns a parallel stream of the remaining rows, without consuming them. The rows
+     * are split across threads without being copied.
+     * @return a parallel stream of rows
+     * @see #stream() 
+     */
+    public Stream<Row> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+    
     /**
      * Returns all remaining rows in this result.
      * @return all remaining rows
@@ -99,11 +186,7 @@ public class ResultSet implements Iterable<Row> {
             return Collections.emptyList();
         }
         
-        List<Row> result = new ArrayList(rows.size());
-        for (Row row : rows) {
-            result.add(row);
-        }
-        return result;
+        return new ArrayList<>(Arrays.asList(rows).subList(position, rows.length));
     }
     
     /**
@@ -111,7 +194,7 @@ public class ResultSet implements Iterable<Row> {
      * @return next row or null if exhausted.
      */
     public Row one() {
-        return rows.poll();
+        return isExhausted() ? null : rows[position++];
     }
 
     /**
@@ -122,7 +205,7 @@ public class ResultSet implements Iterable<Row> {
      * @return set of attribute names.
      */
     public Set<String> getColumnNames() {
-        return columnMetaData != null ? columnMetaData.keySet() : Collections.EMPTY_SET;
+        return columns.getMetaData().keySet();
     }
 
     /**
@@ -132,7 +215,7 @@ public class ResultSet implements Iterable<Row> {
      * @return row column meta data.
      */
     public Map<String, RowColumnMetaData> getColumnMetaData() {
-        return columnMetaData != null ? Collections.unmodifiableMap(columnMetaData) : Collections.EMPTY_MAP;
+        return columns.getMetaData();
     }
     
     /**
@@ -140,44 +223,27 @@ public class ResultSet implements Iterable<Row> {
      * @return column size
      */
     public int getColumnSize() {
-        return getColumnMetaData().size();
-    }
-
-    private void createRows(List<Map<String, Object>> data) {
-        
-        // fetch first to crate result meta data
-        if(!data.isEmpty() && data.get(0) != null) {
-            Map tempMetaData = new TreeMap();
-            data.get(0).keySet().forEach(colName -> {
-                
-                if(!IgnoredType.names().contains(colName)) {
-                    Attribute attrib = statement.getResource().getAttribute(colName);
-                    if(attrib  != null) {
-                        tempMetaData.put(colName, new RowColumnMetaData(colName, attrib.getType()));
-                    }
-                }
-            });
-            columnMetaData = Collections.unmodifiableMap(tempMetaData);
-
-            // create the actual rows without ignored types ...
-            data.forEach(r -> {
-                
-                Map<String, Object> dataRow = new HashMap();
-                columnMetaData.keySet().forEach(colName ->{
-                    dataRow.put(colName, r.get(colName));
-                });
-                Row row = new Row(columnMetaData, dataRow);
-                rows.add(row);
-            });
-        }
+        return columns.size();
     }
     
+    /**
+     * Returns the index of the named column, to be used with the index based
+     * accessors of all {@link Row}s in this result, e.g. {@link Row#getInt(int) }.
+     * Columns are indexed in column name order.
+     * 
+     * @param name the column name
+     * @return the column index or -1 if not a column in this result
+     */
+    public int getColumnIndex(String name) {
+        return columns.indexOf(name);
+    }
+
     public static class RowColumnMetaData {
 
         private final String columnName;
         private final DataType dataType;
         
-        private RowColumnMetaData(String columnName, DataType dataType) {
+        RowColumnMetaData(String columnName, DataType dataType) {
             
             this.columnName = columnName;
             this.dataType = dataType;
@@ -11,20 +11,23 @@ import java.util.Set;
 import java.util.UUID;
 
 /**
- * Holds information for a {@link Resource} entity.
+ * Holds information for a {@link Resource} entity. Values are stored by column
+ * index, use {@link #getColumnIndex(java.lang.String) } to resolve a column's index once
+ * and the index based accessors to read values without any name lookups.
  */
 public class Row {
     
-    private final Map<String, ResultSet.RowColumnMetaData> columnMetas;
-    private final Map<String, Object> row;
+    private final ColumnIndex columns;
+    private final Object[] values;
     
     /**
      * Internally used by SDK to create rows of fetched data.
-     * @param data the row data
+     * @param columns the column index shared by all rows of a result
+     * @param values the row values ordered by column index
      */
-    Row(Map<String, ResultSet.RowColumnMetaData> columnMetas, Map<String, Object> data) {
-        this.columnMetas = columnMetas;
-        this.row = data;
+    Row(ColumnIndex columns, Object[] values) {
+        this.columns = columns;
+        this.values = values;
     }
     
     /**
@@ -33,59 +36,64 @@ public class Row {
      * @return the value of the named column.
      */
     public Object get(String name) {
+        return get(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value object of the column at passed in index.
+     * @param col the index of the column to fetch
+     * @return the value of the column.
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public Object get(int col) throws IllegalArgumentException {
+        checkIndex(col);
+        return value(col);
+    }
+    
+    /**
+     * Internally used by SDK to read the value at a column index already known to be valid,
+     * converted to the Java type of the column's data type.
+     * @param col the column index
+     * @return the value
+     */
+    Object value(int col) {
         
-        Object value = null;
-        DataType dataType = columnMetas.get(name).getDataType();
+        Object val = values[col];
+        DataType dataType = columns.type(col);
         switch(dataType) {
             case BOOLEAN:
-                value = getBool(name);
-                break;
+            case INTEGER:
+            case BIG_INTEGER:
+            case DECIMAL:
+            case COLLECTION_LIST:
+            case COLLECTION_MAP:
+            case TUPLE:
+                return val;
+            case TEXT:
+                return val != null ? val.toString() : null;
+            case TIMESTAMP:
             case CHANGED_AT:
-                value = getChangedAt(name);
-                break;
             case CREATED_AT:
-                value = getCreatedAt(name);
-                break;
-            case TIMESTAMP:
-                value = getTimestamp(name);
-                break;
+                return toDate(val);
             case UUID:
-                value = getUUID(name);
-                break;
             case CREATED_BY:
-                value = getCreatedBy(name);
-                break;
             case CHANGED_BY:
-                value = getChangedBy(name);
-                break;
-            case COLLECTION_LIST:
-                value = getList(name);
-                break;
-            case COLLECTION_MAP:
-                value = getMap(name);
-                break;
+                return toUUID(val);
             case COLLECTION_SET:
-                value = getSet(name);
-                break;
-            case BIG_INTEGER:
-                value = getLong(name);
-                break;
-            case DECIMAL:
-                value = getDouble(name);
-                break;
-            case INTEGER:
-                value = getInt(name);
-                break;
-            case TEXT:
-                value = getString(name);
-                break;
-            case TUPLE:
-                value = getTuple(name);
-                break;
+                return toSet(val);
             default:
                 throw new DataTypeException("Data tyep not in use: " + dataType.name());
         }
-        return value;
+    }
+    
+    /**
+     * Internally used by SDK to get the value of the column at index as stored, e.g. an
+     * {@link Instant} for timestamps.
+     * @param col the column index
+     * @return the stored value
+     */
+    Object storedValue(int col) {
+        return values[col];
     }
     
     /**
@@ -97,12 +105,53 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public Boolean getBool(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.BOOLEAN);
-        Object val = row.get(name);
+        return getBool(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as Boolean.
+     * 
+     * @param col the index of the row column
+     * @throws DataTypeException if not able to cast to Boolean
+     * @return valus as Boolean
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public Boolean getBool(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.BOOLEAN);
+        Object val = values[col];
         if(val == null) {
             return null;
         }
-        return (Boolean)row.get(name);
+        return (Boolean)val;
+    }
+    
+    /**
+     * Returns the value for name as boolean, or defaultValue if the value is null.
+     * 
+     * @param name the name of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as boolean
+     * @throws DataTypeException if not able to cast to Boolean
+     * @throws IllegalArgumentException if name is not part of this row
+     */
+    public boolean getBoolValue(String name, boolean defaultValue) throws DataTypeException, IllegalArgumentException {
+        return getBoolValue(columnIndex(name), defaultValue);
+    }
+    
+    /**
+     * Returns the value of the column at index as boolean, or defaultValue if the value is null.
+     * Reading values this way doesn't allocate, use it in loops summing or comparing values.
+     * 
+     * @param col the index of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as boolean
+     * @throws DataTypeException if not able to cast to Boolean
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public boolean getBoolValue(int col, boolean defaultValue) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.BOOLEAN);
+        Object val = values[col];
+        return val != null ? ((Boolean)val).booleanValue() : defaultValue;
     }
     
     /**
@@ -114,12 +163,53 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public Integer getInt(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.INTEGER);
-        Object val = row.get(name);
+        return getInt(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as Integer.
+     * 
+     * @param col the index of the row column
+     * @return valus as Integer
+     * @throws DataTypeException if not able to cast to Integer
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public Integer getInt(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.INTEGER);
+        Object val = values[col];
         if(val == null) {
             return null;
         }
-        return (Integer)row.get(name);
+        return (Integer)val;
+    }
+    
+    /**
+     * Returns the value for name as int, or defaultValue if the value is null.
+     * 
+     * @param name the name of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as int
+     * @throws DataTypeException if not able to cast to Integer
+     * @throws IllegalArgumentException if name is not part of this row
+     */
+    public int getIntValue(String name, int defaultValue) throws DataTypeException, IllegalArgumentException {
+        return getIntValue(columnIndex(name), defaultValue);
+    }
+    
+    /**
+     * Returns the value of the column at index as int, or defaultValue if the value is null.
+     * Reading values this way doesn't allocate, use it in loops summing or comparing values.
+     * 
+     * @param col the index of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as int
+     * @throws DataTypeException if not able to cast to Integer
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public int getIntValue(int col, int defaultValue) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.INTEGER);
+        Object val = values[col];
+        return val != null ? ((Integer)val).intValue() : defaultValue;
     }
     
     /**
@@ -131,22 +221,49 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public Long getLong(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.BIG_INTEGER);
-        Object val = row.get(name);
-        if(val == null) {
-            return null;
-        }
-        // response from json produces Integers and Strings when numbers are low
-        // calling this method expects Long value ..
-        long primitive;
-        if(val instanceof Integer) {
-            primitive = ((Integer)val).longValue();
-        } else if(val instanceof String) {
-            primitive = Long.valueOf((String)val);
-        } else {
-            primitive =(Long)val;
-        }
-        return primitive;
+        return getLong(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as Long.
+     * 
+     * @param col the index of the row column
+     * @return valus as Long
+     * @throws DataTypeException if not able to cast to Long
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public Long getLong(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.BIG_INTEGER);
+        return (Long)values[col];
+    }
+    
+    /**
+     * Returns the value for name as long, or defaultValue if the value is null.
+     * 
+     * @param name the name of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as long
+     * @throws DataTypeException if not able to cast to Long
+     * @throws IllegalArgumentException if name is not part of this row
+     */
+    public long getLongValue(String name, long defaultValue) throws DataTypeException, IllegalArgumentException {
+        return getLongValue(columnIndex(name), defaultValue);
+    }
+    
+    /**
+     * Returns the value of the column at index as long, or defaultValue if the value is null.
+     * Reading values this way doesn't allocate, use it in loops summing or comparing values.
+     * 
+     * @param col the index of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as long
+     * @throws DataTypeException if not able to cast to Long
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public long getLongValue(int col, long defaultValue) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.BIG_INTEGER);
+        Object val = values[col];
+        return val != null ? ((Long)val).longValue() : defaultValue;
     }
     
     /**
@@ -158,25 +275,49 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public Double getDouble(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.DECIMAL);
-        Object val = row.get(name);
-        if(val == null) {
-            return null;
-        }
-        // response from json is inconsistent, produces Integers, Longs and String
-        //when no decimals are present ... 
-        // calling this method expects Double value ..
-        double primitive;
-        if(val instanceof Integer) {
-            primitive = (double)((Integer)val);
-        } else if(val instanceof Long) {
-            primitive = (double)((Long)val);
-        } else if(val instanceof String) {
-            primitive = Double.valueOf(val.toString());
-        } else {
-            primitive =(Double)val;
-        }
-        return primitive;
+        return getDouble(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as Double.
+     * 
+     * @param col the index of the row column
+     * @return valus as double
+     * @throws DataTypeException if not able to cast to Double
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public Double getDouble(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.DECIMAL);
+        return (Double)values[col];
+    }
+    
+    /**
+     * Returns the value for name as double, or defaultValue if the value is null.
+     * 
+     * @param name the name of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as double
+     * @throws DataTypeException if not able to cast to Double
+     * @throws IllegalArgumentException if name is not part of this row
+     */
+    public double getDoubleValue(String name, double defaultValue) throws DataTypeException, IllegalArgumentException {
+        return getDoubleValue(columnIndex(name), defaultValue);
+    }
+    
+    /**
+     * Returns the value of the column at index as double, or defaultValue if the value is null.
+     * Reading values this way doesn't allocate, use it in loops summing or comparing values.
+     * 
+     * @param col the index of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as double
+     * @throws DataTypeException if not able to cast to Double
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public double getDoubleValue(int col, double defaultValue) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.DECIMAL);
+        Object val = values[col];
+        return val != null ? ((Double)val).doubleValue() : defaultValue;
     }
     
     /**
@@ -188,8 +329,20 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public String getString(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.TEXT);
-        Object val = row.get(name);
+        return getString(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as String.
+     * 
+     * @param col the index of the row column
+     * @return valus as String
+     * @throws DataTypeException if not able to cast to String
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public String getString(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.TEXT);
+        Object val = values[col];
         if(val == null) {
             return null;
         }
@@ -205,14 +358,74 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public Date getTimestamp(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.TIMESTAMP);
-        Object val = row.get(name);
-        if(val == null) {
-            return null;
-        }
-        Instant instant = Instant.parse(val.toString());
-        Date parsedTimestamp = Date.from(instant);
-        return parsedTimestamp;
+        return getTimestamp(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as Date.
+     * 
+     * @param col the index of the row column
+     * @return valus as Date
+     * @throws DataTypeException if not able to cast to Date
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public Date getTimestamp(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.TIMESTAMP);
+        return toDate(values[col]);
+    }
+    
+    /**
+     * Returns the value for name as Instant.
+     * 
+     * @param name the name of the row column
+     * @return value as Instant
+     * @throws DataTypeException if not able to cast to Instant
+     * @throws IllegalArgumentException if name is not part of this row
+     */
+    public Instant getTimestampInstant(String name) throws DataTypeException, IllegalArgumentException {
+        return getTimestampInstant(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as Instant.
+     * 
+     * @param col the index of the row column
+     * @return value as Instant
+     * @throws DataTypeException if not able to cast to Instant
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public Instant getTimestampInstant(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.TIMESTAMP);
+        return (Instant)values[col];
+    }
+    
+    /**
+     * Returns the value for name as milliseconds since epoch, or defaultValue if the value is null.
+     * 
+     * @param name the name of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as epoch millis
+     * @throws DataTypeException if not able to cast to epoch millis
+     * @throws IllegalArgumentException if name is not part of this row
+     */
+    public long getTimestampMillis(String name, long defaultValue) throws DataTypeException, IllegalArgumentException {
+        return getTimestampMillis(columnIndex(name), defaultValue);
+    }
+    
+    /**
+     * Returns the value of the column at index as milliseconds since epoch, or defaultValue
+     * if the value is null. Reading values this way doesn't allocate a Date.
+     * 
+     * @param col the index of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as epoch millis
+     * @throws DataTypeException if not able to cast to epoch millis
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public long getTimestampMillis(int col, long defaultValue) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.TIMESTAMP);
+        Object val = values[col];
+        return val != null ? ((Instant)val).toEpochMilli() : defaultValue;
     }
     
     /**
@@ -224,14 +437,74 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public Date getChangedAt(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.CHANGED_AT);
-        Object val = row.get(name);
-        if(val == null) {
-            return null;
-        }
-        Instant instant = Instant.parse(val.toString());
-        Date parsedTimestamp = Date.from(instant);
-        return parsedTimestamp;
+        return getChangedAt(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as Date.
+     * 
+     * @param col the index of the row column
+     * @return valus as Date
+     * @throws DataTypeException if not able to cast to Date
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public Date getChangedAt(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.CHANGED_AT);
+        return toDate(values[col]);
+    }
+    
+    /**
+     * Returns the value for name as Instant.
+     * 
+     * @param name the name of the row column
+     * @return value as Instant
+     * @throws DataTypeException if not able to cast to Instant
+     * @throws IllegalArgumentException if name is not part of this row
+     */
+    public Instant getChangedAtInstant(String name) throws DataTypeException, IllegalArgumentException {
+        return getChangedAtInstant(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as Instant.
+     * 
+     * @param col the index of the row column
+     * @return value as Instant
+     * @throws DataTypeException if not able to cast to Instant
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public Instant getChangedAtInstant(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.CHANGED_AT);
+        return (Instant)values[col];
+    }
+    
+    /**
+     * Returns the value for name as milliseconds since epoch, or defaultValue if the value is null.
+     * 
+     * @param name the name of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as epoch millis
+     * @throws DataTypeException if not able to cast to epoch millis
+     * @throws IllegalArgumentException if name is not part of this row
+     */
+    public long getChangedAtMillis(String name, long defaultValue) throws DataTypeException, IllegalArgumentException {
+        return getChangedAtMillis(columnIndex(name), defaultValue);
+    }
+    
+    /**
+     * Returns the value of the column at index as milliseconds since epoch, or defaultValue
+     * if the value is null. Reading values this way doesn't allocate a Date.
+     * 
+     * @param col the index of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as epoch millis
+     * @throws DataTypeException if not able to cast to epoch millis
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public long getChangedAtMillis(int col, long defaultValue) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.CHANGED_AT);
+        Object val = values[col];
+        return val != null ? ((Instant)val).toEpochMilli() : defaultValue;
     }
     
     /**
@@ -243,14 +516,74 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public Date getCreatedAt(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.CREATED_AT);
-        Object val = row.get(name);
-        if(val == null) {
-            return null;
-        }
-        Instant instant = Instant.parse(val.toString());
-        Date parsedTimestamp = Date.from(instant);
-        return parsedTimestamp;
+        return getCreatedAt(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as Date.
+     * 
+     * @param col the index of the row column
+     * @return valus as Date
+     * @throws DataTypeException if not able to cast to Date
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public Date getCreatedAt(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.CREATED_AT);
+        return toDate(values[col]);
+    }
+    
+    /**
+     * Returns the value for name as Instant.
+     * 
+     * @param name the name of the row column
+     * @return value as Instant
+     * @throws DataTypeException if not able to cast to Instant
+     * @throws IllegalArgumentException if name is not part of this row
+     */
+    public Instant getCreatedAtInstant(String name) throws DataTypeException, IllegalArgumentException {
+        return getCreatedAtInstant(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as Instant.
+     * 
+     * @param col the index of the row column
+     * @return value as Instant
+     * @throws DataTypeException if not able to cast to Instant
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public Instant getCreatedAtInstant(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.CREATED_AT);
+        return (Instant)values[col];
+    }
+    
+    /**
+     * Returns the value for name as milliseconds since epoch, or defaultValue if the value is null.
+     * 
+     * @param name the name of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as epoch millis
+     * @throws DataTypeException if not able to cast to epoch millis
+     * @throws IllegalArgumentException if name is not part of this row
+     */
+    public long getCreatedAtMillis(String name, long defaultValue) throws DataTypeException, IllegalArgumentException {
+        return getCreatedAtMillis(columnIndex(name), defaultValue);
+    }
+    
+    /**
+     * Returns the value of the column at index as milliseconds since epoch, or defaultValue
+     * if the value is null. Reading values this way doesn't allocate a Date.
+     * 
+     * @param col the index of the row column
+     * @param defaultValue returned if the value is null
+     * @return value as epoch millis
+     * @throws DataTypeException if not able to cast to epoch millis
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public long getCreatedAtMillis(int col, long defaultValue) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.CREATED_AT);
+        Object val = values[col];
+        return val != null ? ((Instant)val).toEpochMilli() : defaultValue;
     }
     
     /**
@@ -262,16 +595,24 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public Set getSet(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.COLLECTION_SET);
-        Object val = row.get(name);
-        if(val == null) {
-            return null;
-        }
-        return new HashSet((List)val);
+        return getSet(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as Set.
+     * 
+     * @param col the index of the row column
+     * @return valus as Set
+     * @throws DataTypeException if not able to cast to Set
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public Set getSet(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.COLLECTION_SET);
+        return toSet(values[col]);
     }
     
     /**
-     * Returns the value for name as List.
+     * Returns the value for name as an unmodifiable List.
      * 
      * @param name the name of the row column
      * @return valus as List
@@ -279,8 +620,20 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public List getList(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.COLLECTION_LIST);
-        Object val = row.get(name);
+        return getList(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as an unmodifiable List.
+     * 
+     * @param col the index of the row column
+     * @return valus as List
+     * @throws DataTypeException if not able to cast to List
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public List getList(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.COLLECTION_LIST);
+        Object val = values[col];
         if(val == null) {
             return null;
         }
@@ -288,7 +641,7 @@ public class Row {
     }
     
     /**
-     * Returns the value for name as Map.
+     * Returns the value for name as an unmodifiable Map.
      * 
      * @param name the name of the row column
      * @return valus as Map
@@ -296,8 +649,20 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public Map getMap(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.COLLECTION_MAP);
-        Object val = row.get(name);
+        return getMap(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as an unmodifiable Map.
+     * 
+     * @param col the index of the row column
+     * @return valus as Map
+     * @throws DataTypeException if not able to cast to Map
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public Map getMap(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.COLLECTION_MAP);
+        Object val = values[col];
         if(val == null) {
             return null;
         }
@@ -305,7 +670,7 @@ public class Row {
     }
     
     /**
-     * Returns the tuple value for name as List.
+     * Returns the tuple value for name as an unmodifiable List.
      * 
      * @param name the name of the row column
      * @return valus as List
@@ -313,8 +678,20 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public List getTuple(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.TUPLE);
-        Object val = row.get(name);
+        return getTuple(columnIndex(name));
+    }
+    
+    /**
+     * Returns the tuple value of the column at index as an unmodifiable List.
+     * 
+     * @param col the index of the row column
+     * @return valus as List
+     * @throws DataTypeException if not able to cast to List
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public List getTuple(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.TUPLE);
+        Object val = values[col];
         if(val == null) {
             return null;
         }
@@ -330,12 +707,20 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public UUID getUUID(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.UUID);
-        Object val = row.get(name);
-        if(val == null) {
-            return null;
-        }
-        return UUID.fromString(val.toString());
+        return getUUID(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as UUID.
+     * 
+     * @param col the index of the row column
+     * @return value as UUID
+     * @throws DataTypeException if not able to cast to UUID
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public UUID getUUID(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.UUID);
+        return toUUID(values[col]);
     }
     
     /**
@@ -347,12 +732,20 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public UUID getChangedBy(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.CHANGED_BY);
-        Object val = row.get(name);
-        if(val == null) {
-            return null;
-        }
-        return UUID.fromString(val.toString());
+        return getChangedBy(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as UUID.
+     * 
+     * @param col the index of the row column
+     * @return value as UUID
+     * @throws DataTypeException if not able to cast to UUID
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public UUID getChangedBy(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.CHANGED_BY);
+        return toUUID(values[col]);
     }
     
     /**
@@ -364,12 +757,20 @@ public class Row {
      * @throws IllegalArgumentException if name is not part of this row
      */
     public UUID getCreatedBy(String name) throws DataTypeException, IllegalArgumentException {
-        checkNameAndType(name, DataType.CREATED_BY);
-        Object val = row.get(name);
-        if(val == null) {
-            return null;
-        }
-        return UUID.fromString(val.toString());
+        return getCreatedBy(columnIndex(name));
+    }
+    
+    /**
+     * Returns the value of the column at index as UUID.
+     * 
+     * @param col the index of the row column
+     * @return value as UUID
+     * @throws DataTypeException if not able to cast to UUID
+     * @throws IllegalArgumentException if index is not part of this row
+     */
+    public UUID getCreatedBy(int col) throws DataTypeException, IllegalArgumentException {
+        checkIndexAndType(col, DataType.CREATED_BY);
+        return toUUID(values[col]);
     }
     
     /**
@@ -378,28 +779,80 @@ public class Row {
      * @return row column meta data
      */
     public ResultSet.RowColumnMetaData getMeta(String name) {
-        return columnMetas.get(name);
+        return columns.getMetaData().get(name);
     }
     
+    /**
+     * Returns the index of the named column. The index is the same for all rows
+     * of the same {@link ResultSet}.
+     * @param name the name of the column
+     * @return the column index or -1 if name is not part of this row
+     */
+    public int getColumnIndex(String name) {
+        return columns.indexOf(name);
+    }
+    
+    /**
+     * Returns the number of columns of this row.
+     * @return column count
+     */
+    public int getColumnSize() {
+        return columns.size();
+    }
     
-    private boolean isNameValid(String name) throws IllegalArgumentException {
-        return columnMetas.keySet().contains(name);
+    /**
+     * Internally used by SDK to get the column index shared by the rows of a result.
+     * @return the column index
+     */
+    ColumnIndex columns() {
+        return columns;
     }
     
-    private void checkNameAndType(String name, DataType expected) {
+    private int columnIndex(String name) throws IllegalArgumentException {
         
-        if(!isNameValid(name)) {
+        int col = columns.indexOf(name);
+        if(col < 0) {
             throw new IllegalArgumentException(name + " is not a valid column name in this row.");
         }
+        return col;
+    }
+    
+    private void checkIndex(int col) throws IllegalArgumentException {
+        
+        if(col < 0 || col >= values.length) {
+            throw new IllegalArgumentException(col + " is not a valid column index in this row.");
+        }
+    }
+    
+    private void checkIndexAndType(int col, DataType expected) {
         
-        DataType colType = getMeta(name).getDataType();
-        if(!colType.equals(expected)) {
+        checkIndex(col);
+        DataType colType = columns.type(col);
+        if(colType != expected) {
             throw new DataTypeException(
                     "Can't cast " + colType.getHumanName() + " to "
                             + expected.getHumanName() + ".");
         }
     }
     
+    private static Date toDate(Object val) {
+        if(val == null) {
+            return null;
+        }
+        return Date.from((Instant)val);
+    }
+    
+    private static UUID toUUID(Object val) {
+        return (UUID)val;
+    }
+    
+    private static Set toSet(Object val) {
+        if(val == null) {
+            return null;
+        }
+        return new HashSet<>((List<?>)val);
+    }
+    
     /**
      * Returns a map of all values mapped to their attribute namnes useful for
      * in conjuction with {@link SaveStatement#withParams(java.util.Map)} when only changing
@@ -410,7 +863,13 @@ public class Row {
      * @return a map will all values mapped to their attribute names.
      */
     public Map<String, Object> getAsParams() {
-        return new HashMap(row);
+        Map<String, Object> params = new HashMap<>(values.length * 2);
+        for(int i = 0; i < values.length; i++) {
+            // timestamps are sent as ISO-8601 strings
+            Object val = values[i] instanceof Instant ? values[i].toString() : values[i];
+            params.put(columns.name(i), val);
+        }
+        return params;
     }
 
     /**
@@ -419,11 +878,11 @@ public class Row {
      */
     @Override
     public String toString() {
-        String string = "";
-        for(String col : columnMetas.keySet()) {
-            String val = row.get(col) != null ? row.get(col).toString() : "null";
-            string = String.join("", string, col, "=", val , "\n");
+        StringBuilder string = new StringBuilder();
+        for(int i = 0; i < values.length; i++) {
+            String val = values[i] != null ? values[i].toString() : "null";
+            string.append(columns.name(i)).append("=").append(val).append("\n");
         }
-        return string;
+        return string.toString();
     }
 }
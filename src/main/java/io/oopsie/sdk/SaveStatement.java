@@ -3,12 +3,13 @@ package io.oopsie.sdk;
 import io.oopsie.sdk.error.AlreadyExecutedException;
 import io.oopsie.sdk.error.StatementParamException;
 import io.oopsie.sdk.error.StatementExecutionException;
+import io.oopsie.sdk.transport.RequestMethod;
+import io.oopsie.sdk.transport.TransportRequest;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import org.springframework.http.HttpMethod;
 
 /**
  * Use this class to save persisted ( HTTP POST) entities for a {@link Resource}.
@@ -26,16 +27,16 @@ public class SaveStatement extends Statement<SaveStatement> {
      */
     SaveStatement(Resource resource) {
         super(resource);
-        setRequestMethod(HttpMethod.PUT);
+        setRequestMethod(RequestMethod.PUT);
     }
        
     @Override
-    protected synchronized final ResultSet execute(URI baseApiUri, UUID customerId,
-            UUID siteId, String apiKey, List<String> cookies)
+    protected synchronized final TransportRequest prepare(URI baseApiUri,
+            UUID customerId, UUID siteId, String apiKey, List<String> cookies)
             throws AlreadyExecutedException, StatementExecutionException {
         
         setRequestBody(attribVals);
-        return super.execute(baseApiUri, customerId, siteId, apiKey, cookies);
+        return super.prepare(baseApiUri, customerId, siteId, apiKey, cookies);
     }
     
     @Override
@@ -66,6 +67,11 @@ public class SaveStatement extends Statement<SaveStatement> {
         return this;
     }
     
+    @Override
+    Map<String, Object> getBodyParams() {
+        return attribVals;
+    }
+    
     @Override
     public void reset() {
         attribVals = null;
@@ -0,0 +1,183 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementParamException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the rows of a {@link GetStatement} into shards, to be scanned by many workers at
+ * once, e.g. on different hosts. Split by the partition key values of the statement's
+ * {@link View} or by the ranges of recorded {@link PageCheckpoints}. Workers scan the shards
+ * of a plan by calling
+ * {@link Site#scan(io.oopsie.sdk.ScanPlan, io.oopsie.sdk.ShardCoordinator, int) }, claiming
+ * shards through a {@link ShardCoordinator} so that each shard is scanned by one worker.
+ * <p>
+ * A plan is identified by its name, which all workers scanning it must agree on along with the
+ * shards. Create the plan from the same partitions or checkpoints on each worker.
+ */
+public final class ScanPlan {
+
+    private final String name;
+    private final Resource resource;
+    private final View view;
+    private final Map<String, Object> params;
+    private final List<List<Range>> shards;
+
+    private ScanPlan(String name, GetStatement template, Map<String, Object> params, List<List<Range>> shards) {
+        this.name = name;
+        this.resource = template.getResource();
+        this.view = resource.getView(template.getView());
+        this.params = params;
+        this.shards = shards;
+    }
+
+    /**
+     * Creates a plan scanning passed in partitions of the template's view, with
+     * partitionsPerShard partitions in each shard.
+     *
+     * @param name the name of the plan, a valid file name if coordinated by files
+     * @param template the statement holding the view and any params common to all partitions
+     * @param partitions the partition key values of each partition mapped to their attribute names
+     * @param partitionsPerShard number of partitions in each shard
+     * @return the plan
+     * @throws StatementParamException if a partition lacks a partition key of the template's view
+     */
+    public static ScanPlan byPartitions(String name, GetStatement template,
+            List<Map<String, Object>> partitions, int partitionsPerShard) throws StatementParamException {
+
+        if(partitionsPerShard < 1) {
+            throw new IllegalArgumentException("Partitions per shard must be at least 1");
+        }
+        View view = template.getResource().getView(template.getView());
+        List<List<Range>> shards = new ArrayList<>();
+        for(int i = 0; i < partitions.size(); i += partitionsPerShard) {
+            List<Range> shard = new ArrayList<>(partitionsPerShard);
+            for(Map<String, Object> partition : partitions.subList(i,
+                    Math.min(i + partitionsPerShard, partitions.size()))) {
+                if(!partition.keySet().containsAll(view.getPartitionKeys().keySet())) {
+                    throw new StatementParamException("Partition " + partition + " doesn't hold all partition"
+                            + " keys " + view.getPartitionKeys().keySet() + " of view '" + view.getName() + "'.");
+                }
+                shard.add(new Range(new LinkedHashMap<>(partition), null, null));
+            }
+            shards.add(shard);
+        }
+        return new ScanPlan(name, template, params(template, null), shards);
+    }
+
+    /**
+     * Creates a plan scanning the ranges of passed in checkpoints, with rangesPerShard ranges in
+     * each shard. Ranges already completed in the checkpoints are still part of the plan, progress
+     * of a plan is tracked by its {@link ShardCoordinator}.
+     *
+     * @param name the name of the plan, a valid file name if coordinated by files
+     * @param template the statement the checkpoints were recorded by
+     * @param checkpoints the checkpoints
+     * @param rangesPerShard number of ranges in each shard
+     * @return the plan
+     * @throws StatementParamException if the checkpoints were recorded for another resource or view
+     */
+    public static ScanPlan byCheckpoints(String name, GetStatement template, PageCheckpoints checkpoints,
+            int rangesPerShard) throws StatementParamException {
+
+        if(rangesPerShard < 1) {
+            throw new IllegalArgumentException("Ranges per shard must be at least 1");
+        }
+        if(!template.getResource().getResourceId().equals(checkpoints.getResourceId())
+                || !template.getView().equals(checkpoints.getView())) {
+            throw new StatementParamException("Checkpoints were recorded for another resource or view.");
+        }
+        List<String> pageStates = checkpoints.getPageStates();
+        List<List<Range>> shards = new ArrayList<>();
+        for(int i = 0; i < pageStates.size(); i += rangesPerShard) {
+            List<Range> shard = new ArrayList<>(rangesPerShard);
+            for(int r = i; r < Math.min(i + rangesPerShard, pageStates.size()); r++) {
+                shard.add(new Range(Collections.emptyMap(), pageStates.get(r),
+                        r + 1 < pageStates.size() ? pageStates.get(r + 1) : null));
+            }
+            shards.add(shard);
+        }
+        return new ScanPlan(name, template, params(template, checkpoints.getLimit()), shards);
+    }
+
+    /**
+     * Returns the name of this plan.
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of shards of this plan.
+     * @return number of shards
+     */
+    public int size() {
+        return shards.size();
+    }
+
+    /**
+     * Internally used by SDK to create the statements of a shard, one per partition or range.
+     *
+     * @param shard the shard index
+     * @return new statements ready to execute
+     */
+    List<GetStatement> statements(int shard) {
+
+        List<GetStatement> statements = new ArrayList<>();
+        for(Range range : shards.get(shard)) {
+            GetStatement statement = resource.get(view).withParams(params).withParams(range.params);
+            if(range.start != null) {
+                statement.page(range.start);
+            }
+            statements.add(statement);
+        }
+        return statements;
+    }
+
+    /**
+     * Internally used by SDK to get the page states the statements of a shard end at.
+     *
+     * @param shard the shard index
+     * @return a page state or null per statement
+     */
+    List<String> ends(int shard) {
+
+        List<String> ends = new ArrayList<>();
+        shards.get(shard).forEach(range -> ends.add(range.end));
+        return ends;
+    }
+
+    /**
+     * Returns the params of passed in template common to all shards.
+     */
+    private static Map<String, Object> params(GetStatement template, Integer limit) {
+
+        Map<String, Object> params = template.getQueryparams() != null
+                ? new LinkedHashMap<>(template.getQueryparams()) : new LinkedHashMap<>();
+        params.remove("pageState");
+        if(limit != null) {
+            params.put("_limit", limit);
+        }
+        return params;
+    }
+
+    /**
+     * A partition or checkpoint range of a shard.
+     */
+    private static final class Range {
+
+        private final Map<String, Object> params;
+        private final String start;
+        private final String end;
+
+        private Range(Map<String, Object> params, String start, String end) {
+            this.params = params;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementExecutionException;
+import io.oopsie.sdk.error.StatementParamException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Internally used by SDK to build the partition scans, checkpoints and replays of a
+ * {@link Site}, see {@link Site#scan(io.oopsie.sdk.GetStatement, java.util.Collection, java.util.Comparator, int, java.util.List) },
+ * {@link Site#checkpoint(io.oopsie.sdk.GetStatement, int, java.util.function.Consumer) } and
+ * {@link Site#replay(io.oopsie.sdk.GetStatement, io.oopsie.sdk.PageCheckpoints, int, java.nio.file.Path) }.
+ */
+final class Scans {
+
+    private Scans() {
+    }
+
+    /**
+     * Returns all rows of passed in template for each of passed in partitions.
+     *
+     * @param site the site to execute through
+     * @param template the statement holding the view and any params common to all partitions
+     * @param partitions the partition key values of each partition mapped to their attribute names
+     * @param order the order to merge rows by or null to not merge
+     * @param parallelism maximum number of pages fetched at once
+     * @param cookies the auth cookies
+     * @return all rows of all partitions
+     * @throws StatementParamException if a partition lacks a partition key of the template's view
+     */
+    static Iterable<Row> scan(Site site, GetStatement template, Collection<Map<String, Object>> partitions,
+            Comparator<Row> order, int parallelism, List<String> cookies) throws StatementParamException {
+        
+        Resource resource = template.getResource();
+        View view = resource.getView(template.getView());
+        Map<String, Object> common = commonParams(template);
+        
+        List<GetStatement> statements = new ArrayList<>(partitions.size());
+        for(Map<String, Object> partition : partitions) {
+            if(!partition.keySet().containsAll(view.getPartitionKeys().keySet())) {
+                throw new StatementParamException("Partition " + partition + " doesn't hold all partition keys "
+                        + view.getPartitionKeys().keySet() + " of view '" + view.getName() + "'.");
+            }
+            statements.add(resource.get(view).withParams(common).withParams(partition));
+        }
+        return () -> new PartitionScan(site, statements, order, parallelism, cookies);
+    }
+
+    /**
+     * Pages through all rows of passed in template, recording the page state of every
+     * pagesPerRange page.
+     *
+     * @param site the site to execute through
+     * @param template the statement to page through, not executed itself
+     * @param pagesPerRange number of pages in each range
+     * @param action the action to perform on each row or null
+     * @return the checkpoints
+     * @throws StatementExecutionException if execution fails
+     * @throws StatementParamException if the template's limit isn't an integer
+     */
+    static PageCheckpoints checkpoint(Site site, GetStatement template, int pagesPerRange, Consumer<Row> action)
+            throws StatementExecutionException, StatementParamException {
+        
+        if(pagesPerRange < 1) {
+            throw new IllegalArgumentException("Pages per range must be at least 1");
+        }
+        Resource resource = template.getResource();
+        Map<String, Object> common = commonParams(template);
+        Integer limit = null;
+        if(common.get("_limit") != null) {
+            try {
+                limit = Integer.valueOf(common.get("_limit").toString());
+            } catch(NumberFormatException ex) {
+                throw new StatementParamException("Limit must be an integer: " + common.get("_limit"));
+            }
+        }
+        GetStatement statement = resource.get(resource.getView(template.getView())).withParams(common);
+        
+        List<String> pageStates = new ArrayList<>();
+        pageStates.add(null);
+        int pages = 0;
+        while(true) {
+            ResultSet page = site.execute(statement);
+            boolean empty = page.isExhausted();
+            if(action != null) {
+                page.forEach(action);
+            }
+            // last page is empty or has no page state
+            if(empty || !statement.hasMorePages()) {
+                break;
+            }
+            if(++pages % pagesPerRange == 0) {
+                pageStates.add(statement.getPageState());
+            }
+            statement.nextPage();
+        }
+        return new PageCheckpoints(resource.getResourceId(), template.getView(), limit, pageStates,
+                Collections.emptySet());
+    }
+
+    /**
+     * Returns all rows of passed in template by replaying the ranges of passed in checkpoints
+     * not yet completed.
+     *
+     * @param site the site to execute through
+     * @param template the statement the checkpoints were recorded by
+     * @param checkpoints the checkpoints
+     * @param parallelism maximum number of ranges replayed at once
+     * @param checkpointFile file to save progress to or null
+     * @return all rows of all ranges not completed
+     * @throws StatementParamException if the checkpoints were recorded for another resource or view
+     */
+    static Iterable<Row> replay(Site site, GetStatement template, PageCheckpoints checkpoints, int parallelism,
+            Path checkpointFile) throws StatementParamException {
+        
+        Resource resource = template.getResource();
+        if(!resource.getResourceId().equals(checkpoints.getResourceId())
+                || !template.getView().equals(checkpoints.getView())) {
+            throw new StatementParamException("Checkpoints were recorded for another resource or view.");
+        }
+        View view = resource.getView(template.getView());
+        Map<String, Object> common = commonParams(template);
+        common.remove("_limit");
+        if(checkpoints.getLimit() != null) {
+            common.put("_limit", checkpoints.getLimit());
+        }
+        
+        List<String> pageStates = checkpoints.getPageStates();
+        List<GetStatement> statements = new ArrayList<>();
+        List<String> ends = new ArrayList<>();
+        List<Integer> ranges = new ArrayList<>();
+        for(int i = 0; i < pageStates.size(); i++) {
+            if(!checkpoints.isCompleted(i)) {
+                GetStatement statement = resource.get(view).withParams(common);
+                if(pageStates.get(i) != null) {
+                    statement.page(pageStates.get(i));
+                }
+                statements.add(statement);
+                ends.add(i + 1 < pageStates.size() ? pageStates.get(i + 1) : null);
+                ranges.add(i);
+            }
+        }
+        return () -> new PartitionScan(site, statements, ends, null, parallelism, null, index -> {
+            checkpoints.completed(ranges.get(index));
+            if(checkpointFile != null) {
+                try {
+                    checkpoints.save(checkpointFile);
+                } catch(IOException ex) {
+                    // thrown from the iterator, saving again once the next range is completed
+                    throw new StatementExecutionException("Severe: Could not save page checkpoints to "
+                            + checkpointFile + ": " + ex.getMessage(), ex);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the params of passed in template common to all statements copied from it.
+     */
+    private static Map<String, Object> commonParams(GetStatement template) {
+        
+        Map<String, Object> common = template.getQueryparams() != null
+                ? new LinkedHashMap<>(template.getQueryparams()) : new LinkedHashMap<>();
+        common.remove("pageState");
+        return common;
+    }
+    
+    /**
+     * Returns a comparator of rows ascending by passed in view's cluster keys, nulls first, in
+     * the order the server stores them: text by code point as its UTF-8 bytes sort, numbers by
+     * value, timestamps by time and false before true.
+     * 
+     * @throws StatementParamException if a cluster key is of a data type the server order isn't
+     * known of, e.g. a UUID or a collection, pass an explicit {@link Comparator} to merge those
+     */
+    static Comparator<Row> clusterOrder(View view) throws StatementParamException {
+        
+        Map<String, Comparator<Object>> keys = new LinkedHashMap<>();
+        for(ClusterKey key : view.getClusterKeys().values()) {
+            keys.put(key.getName(), serverOrder(key));
+        }
+        return (a, b) -> {
+            for(Map.Entry<String, Comparator<Object>> key : keys.entrySet()) {
+                Object x = a.get(key.getKey());
+                Object y = b.get(key.getKey());
+                int c = x == null ? (y == null ? 0 : -1) : (y == null ? 1 : key.getValue().compare(x, y));
+                if(c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        };
+    }
+    
+    /**
+     * Returns a comparator of the non null values of passed in cluster key in server order.
+     */
+    private static Comparator<Object> serverOrder(ClusterKey key) throws StatementParamException {
+        
+        switch(key.getType()) {
+            case TEXT:
+                return (x, y) -> compareCodePoints(x.toString(), y.toString());
+            case INTEGER:
+            case BIG_INTEGER:
+                return (x, y) -> Long.compare(((Number)x).longValue(), ((Number)y).longValue());
+            case DECIMAL:
+                return (x, y) -> new BigDecimal(x.toString()).compareTo(new BigDecimal(y.toString()));
+            case TIMESTAMP:
+            case CREATED_AT:
+            case CHANGED_AT:
+                return (x, y) -> ((Date)x).compareTo((Date)y);
+            case BOOLEAN:
+                return (x, y) -> Boolean.compare((Boolean)x, (Boolean)y);
+            default:
+                throw new StatementParamException("Can't merge rows by cluster key '" + key.getName()
+                        + "' of data type " + key.getType().name() + " in server order, pass an explicit "
+                        + "Comparator to scan instead.");
+        }
+    }
+    
+    /**
+     * Compares passed in strings by code point, the order of their UTF-8 bytes, where
+     * {@link String#compareTo(java.lang.String) } compares UTF-16 chars.
+     */
+    private static int compareCodePoints(String x, String y) {
+        
+        int i = 0;
+        int j = 0;
+        while(i < x.length() && j < y.length()) {
+            int a = x.codePointAt(i);
+            int b = y.codePointAt(j);
+            if(a != b) {
+                return Integer.compare(a, b);
+            }
+            i += Character.charCount(a);
+            j += Character.charCount(b);
+        }
+        return Integer.compare(x.length() - i, y.length() - j);
+    }
+}
@@ -0,0 +1,169 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.SchemaSignature.ResourceSignature;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Describes one change of a {@link Site}'s model, found when the model is refreshed.
+ *
+ * @see Site#refreshSchema()
+ * @see SchemaChangeListener
+ */
+public class SchemaChange {
+
+    /**
+     * The kind of a schema change.
+     */
+    public enum Kind {
+        APPLICATION_ADDED,
+        APPLICATION_REMOVED,
+        RESOURCE_ADDED,
+        RESOURCE_REMOVED,
+        /**
+         * Anything else of the resource changed, e.g. its auths.
+         */
+        RESOURCE_CHANGED,
+        ATTRIBUTE_ADDED,
+        ATTRIBUTE_REMOVED,
+        /**
+         * The attribute's type or validation changed.
+         */
+        ATTRIBUTE_CHANGED,
+        VIEW_ADDED,
+        VIEW_REMOVED,
+        /**
+         * The view's keys changed.
+         */
+        VIEW_CHANGED
+    }
+
+    private final Kind kind;
+    private final String application;
+    private final String resource;
+    private final String name;
+
+    SchemaChange(Kind kind, String application, String resource, String name) {
+        this.kind = kind;
+        this.application = application;
+        this.resource = resource;
+        this.name = name;
+    }
+
+    /**
+     * Returns the kind of change.
+     * @return the kind
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the name of the changed application, or of the application holding the change.
+     * @return application name
+     */
+    public String getApplication() {
+        return application;
+    }
+
+    /**
+     * Returns the name of the changed resource, or of the resource holding the change.
+     * @return resource name or null for application changes
+     */
+    public String getResource() {
+        return resource;
+    }
+
+    /**
+     * Returns the name of the changed attribute or view.
+     * @return attribute or view name or null for application and resource changes
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder string = new StringBuilder(kind.name()).append(" ").append(application);
+        if(resource != null) {
+            string.append("/").append(resource);
+        }
+        if(name != null) {
+            string.append("/").append(name);
+        }
+        return string.toString();
+    }
+
+    /**
+     * Internally used by SDK to diff the signatures of two models.
+     *
+     * @param previous the signature of the current model
+     * @param current the signature of the refreshed model
+     * @return the changes, empty if no application, resource, attribute or view changed
+     */
+    static List<SchemaChange> diff(SchemaSignature previous, SchemaSignature current) {
+
+        List<SchemaChange> changes = new ArrayList<>();
+        Map<String, Map<String, ResourceSignature>> before = previous.applications();
+        before.forEach((app, resources) -> {
+            if(!current.applications().containsKey(app)) {
+                changes.add(new SchemaChange(Kind.APPLICATION_REMOVED, app, null, null));
+            }
+        });
+        current.applications().forEach((app, resources) -> {
+            if(!before.containsKey(app)) {
+                changes.add(new SchemaChange(Kind.APPLICATION_ADDED, app, null, null));
+            } else if(!Objects.equals(before.get(app), resources)) {
+                diffResources(app, before.get(app), resources, changes);
+            }
+        });
+        return changes;
+    }
+
+    private static void diffResources(String app, Map<String, ResourceSignature> previous,
+            Map<String, ResourceSignature> current, List<SchemaChange> changes) {
+
+        previous.forEach((res, signature) -> {
+            if(!current.containsKey(res)) {
+                changes.add(new SchemaChange(Kind.RESOURCE_REMOVED, app, res, null));
+            }
+        });
+        current.forEach((res, signature) -> {
+            ResourceSignature before = previous.get(res);
+            if(before == null) {
+                changes.add(new SchemaChange(Kind.RESOURCE_ADDED, app, res, null));
+                return;
+            }
+            if(before.equals(signature)) {
+                return;
+            }
+            int count = changes.size();
+            diffNamed(app, res, before.attributes(), signature.attributes(),
+                    Kind.ATTRIBUTE_ADDED, Kind.ATTRIBUTE_REMOVED, Kind.ATTRIBUTE_CHANGED, changes);
+            diffNamed(app, res, before.views(), signature.views(),
+                    Kind.VIEW_ADDED, Kind.VIEW_REMOVED, Kind.VIEW_CHANGED, changes);
+            if(count == changes.size() || before.rest() != signature.rest()) {
+                changes.add(new SchemaChange(Kind.RESOURCE_CHANGED, app, res, null));
+            }
+        });
+    }
+
+    private static void diffNamed(String app, String res, Map<String, Long> previous,
+            Map<String, Long> current, Kind added, Kind removed, Kind changed, List<SchemaChange> changes) {
+
+        previous.keySet().forEach(name -> {
+            if(!current.containsKey(name)) {
+                changes.add(new SchemaChange(removed, app, res, name));
+            }
+        });
+        current.forEach((name, hash) -> {
+            if(!previous.containsKey(name)) {
+                changes.add(new SchemaChange(added, app, res, name));
+            } else if(!Objects.equals(previous.get(name), hash)) {
+                changes.add(new SchemaChange(changed, app, res, name));
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.SiteInitializationException;
+import java.util.List;
+
+/**
+ * Listens for changes of a {@link Site}'s model. Listeners are notified after the
+ * refreshed model has been swapped in, from the thread that refreshed the model.
+ * Exceptions thrown by a listener are logged and don't affect other listeners.
+ *
+ * @see Site#addSchemaChangeListener(io.oopsie.sdk.SchemaChangeListener)
+ */
+@FunctionalInterface
+public interface SchemaChangeListener {
+
+    /**
+     * Called when the model of a {@link Site} has changed.
+     *
+     * @param applications the refreshed model
+     * @param changes the changes from the previous model
+     */
+    void schemaChanged(Applications applications, List<SchemaChange> changes);
+
+    /**
+     * Called when a background refresh of the model of a {@link Site} failed, i.e. a periodic
+     * refresh or the revalidation of a snapshot. The site keeps its current model. Does
+     * nothing by default, failures are logged by the site either way.
+     *
+     * @param ex the failure
+     */
+    default void schemaRefreshFailed(SiteInitializationException ex) {
+    }
+}
@@ -0,0 +1,182 @@
+package io.oopsie.sdk;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Internally used by SDK to tell what changed between two site models without holding on
+ * to their raw init trees. The model is reduced to a 128 bit hash of its raw tree, and each
+ * resource, attribute and view to a 64 bit hash of its raw tree, map keys hashed in sorted
+ * order so the order fields are sent in doesn't matter.
+ */
+final class SchemaSignature {
+
+    private static final List<String> NAMED_CHILDREN = Arrays.asList("attributes", "views");
+
+    private final HashCode hash;
+    private final Map<String, Map<String, ResourceSignature>> applications;
+
+    private SchemaSignature(HashCode hash, Map<String, Map<String, ResourceSignature>> applications) {
+        this.hash = hash;
+        this.applications = applications;
+    }
+
+    /**
+     * Creates the signature of passed in raw applications.
+     *
+     * @param rawApplications the raw applications of the site model mapped to their names
+     * @return the signature
+     */
+    static SchemaSignature of(Map<String, Map> rawApplications) {
+
+        Map<String, Map<String, ResourceSignature>> applications = new LinkedHashMap<>();
+        rawApplications.forEach((app, raw) -> {
+            Map<String, ResourceSignature> resources = new LinkedHashMap<>();
+            byName(raw.get("resources")).forEach((res, rawResource) ->
+                    resources.put(res, new ResourceSignature(rawResource)));
+            applications.put(app, resources);
+        });
+        return new SchemaSignature(hash(rawApplications), applications);
+    }
+
+    /**
+     * Returns the resource signatures of each application mapped to their names.
+     * @return the applications
+     */
+    Map<String, Map<String, ResourceSignature>> applications() {
+        return applications;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof SchemaSignature && hash.equals(((SchemaSignature)obj).hash);
+    }
+
+    /**
+     * Maps a raw list of named objects by their names.
+     */
+    private static Map<String, Map> byName(Object list) {
+
+        if(!(list instanceof List)) {
+            return Collections.emptyMap();
+        }
+        Map<String, Map> named = new LinkedHashMap<>();
+        for(Object element : (List)list) {
+            if(element instanceof Map) {
+                named.put(String.valueOf(((Map)element).get("name")), (Map)element);
+            }
+        }
+        return named;
+    }
+
+    /**
+     * Returns the hashes of a raw list of named objects mapped to their names.
+     */
+    private static Map<String, Long> hashByName(Object list) {
+
+        Map<String, Long> hashes = new LinkedHashMap<>();
+        byName(list).forEach((name, raw) -> hashes.put(name, hash(raw).asLong()));
+        return hashes;
+    }
+
+    private static HashCode hash(Object value) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        putValue(hasher, value);
+        return hasher.hash();
+    }
+
+    private static void putValue(Hasher hasher, Object value) {
+
+        if(value == null) {
+            hasher.putByte((byte)0);
+        } else if(value instanceof Map) {
+            hasher.putByte((byte)1);
+            Map<Object, Object> sorted = new TreeMap<>((Map<?, ?>)value);
+            hasher.putInt(sorted.size());
+            sorted.forEach((key, nested) -> {
+                hasher.putString(key.toString(), StandardCharsets.UTF_8);
+                putValue(hasher, nested);
+            });
+        } else if(value instanceof List) {
+            hasher.putByte((byte)2);
+            List list = (List)value;
+            hasher.putInt(list.size());
+            list.forEach(nested -> putValue(hasher, nested));
+        } else {
+            // scalars, tagged by type so 1 and "1" differ
+            hasher.putByte((byte)3);
+            hasher.putString(value.getClass().getSimpleName(), StandardCharsets.UTF_8);
+            hasher.putString(value.toString(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * The hashes of a resource, its attributes and views and of the rest of the resource.
+     * Names and hashes are held in arrays, a resource is compared far more often than diffed.
+     */
+    static final class ResourceSignature {
+
+        private final long hash;
+        private final String[] attributeNames;
+        private final long[] attributeHashes;
+        private final String[] viewNames;
+        private final long[] viewHashes;
+        private final long rest;
+
+        private ResourceSignature(Map rawResource) {
+            this.hash = hash(rawResource).asLong();
+            Map<String, Long> attributes = hashByName(rawResource.get("attributes"));
+            this.attributeNames = attributes.keySet().toArray(new String[attributes.size()]);
+            this.attributeHashes = attributes.values().stream().mapToLong(Long::longValue).toArray();
+            Map<String, Long> views = hashByName(rawResource.get("views"));
+            this.viewNames = views.keySet().toArray(new String[views.size()]);
+            this.viewHashes = views.values().stream().mapToLong(Long::longValue).toArray();
+            Map<String, Object> rest = new LinkedHashMap<>(rawResource);
+            rest.keySet().removeAll(NAMED_CHILDREN);
+            this.rest = hash(rest).asLong();
+        }
+
+        Map<String, Long> attributes() {
+            return named(attributeNames, attributeHashes);
+        }
+
+        Map<String, Long> views() {
+            return named(viewNames, viewHashes);
+        }
+
+        long rest() {
+            return rest;
+        }
+
+        private static Map<String, Long> named(String[] names, long[] hashes) {
+            Map<String, Long> named = new LinkedHashMap<>();
+            for(int i = 0; i < names.length; i++) {
+                named.put(names[i], hashes[i]);
+            }
+            return named;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ResourceSignature && hash == ((ResourceSignature)obj).hash;
+        }
+    }
+}
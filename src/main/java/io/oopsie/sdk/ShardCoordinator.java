@@ -0,0 +1,63 @@
+package io.oopsie.sdk;
+
+import java.io.IOException;
+
+/**
+ * Coordinates the workers scanning the shards of a {@link ScanPlan}, making sure each shard
+ * is scanned by one worker at a time and tracking the shards completely scanned. A claim is a
+ * lease, a worker not renewing its claim in time is considered gone and its shard may be
+ * claimed by another worker. A worker losing its claim stops scanning the shard, rows of it
+ * already returned are returned again by the worker scanning it next.
+ *
+ * @see FileShardCoordinator
+ * @see Site#scan(io.oopsie.sdk.ScanPlan, io.oopsie.sdk.ShardCoordinator, int)
+ */
+public interface ShardCoordinator {
+
+    /**
+     * Claims a shard for this worker.
+     *
+     * @param plan the name of the plan
+     * @param shard the shard index
+     * @return true if claimed, false if completed or claimed by another worker
+     * @throws IOException if coordination fails
+     */
+    boolean claim(String plan, int shard) throws IOException;
+
+    /**
+     * Renews the lease of a shard claimed by this worker.
+     *
+     * @param plan the name of the plan
+     * @param shard the shard index
+     * @return true if renewed, false if the claim was lost, e.g. taken over by another worker
+     * after the lease expired
+     * @throws IOException if coordination fails
+     */
+    boolean renew(String plan, int shard) throws IOException;
+
+    /**
+     * Releases a shard claimed by this worker without completing it, e.g. after a failure.
+     *
+     * @param plan the name of the plan
+     * @param shard the shard index
+     * @throws IOException if coordination fails
+     */
+    void release(String plan, int shard) throws IOException;
+
+    /**
+     * Marks a shard claimed by this worker as completed and releases it.
+     *
+     * @param plan the name of the plan
+     * @param shard the shard index
+     * @throws IOException if coordination fails
+     */
+    void complete(String plan, int shard) throws IOException;
+
+    /**
+     * Returns the lease time of claims in milliseconds. Workers renew their claims well
+     * within this time.
+     *
+     * @return lease time in milliseconds
+     */
+    long getLeaseMillis();
+}
@@ -0,0 +1,211 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementExecutionException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Internally used by SDK to iterate the rows of all shards of a {@link ScanPlan} this worker
+ * is able to claim. Up to parallelism shards are claimed at a time and scanned by a
+ * {@link PartitionScan}, each shard is completed once all its rows were returned. Claims are
+ * renewed while iterating and released if the scan fails. A shard whose claim is found lost
+ * when renewed is no longer scanned, nor completed, by this worker.
+ * <p>
+ * Shards are claimed in passes over all shards, until a pass claims none, so shards abandoned
+ * by other workers meanwhile are picked up.
+ */
+class ShardScan implements Iterator<Row> {
+
+    private static final Logger LOGGER = Logger.getLogger(ShardScan.class.getName());
+
+    private final Site site;
+    private final ScanPlan plan;
+    private final ShardCoordinator coordinator;
+    private final int parallelism;
+    private final List<String> cookies;
+
+    private final List<Claim> claims = new ArrayList<>();
+    private Iterator<Row> current = Collections.emptyIterator();
+    private PartitionScan scan;
+    private int nextShard;
+    private boolean claimedInPass;
+    private long renewed;
+
+    ShardScan(Site site, ScanPlan plan, ShardCoordinator coordinator, int parallelism, List<String> cookies) {
+
+        if(parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.site = site;
+        this.plan = plan;
+        this.coordinator = coordinator;
+        this.parallelism = parallelism;
+        this.cookies = cookies;
+    }
+
+    @Override
+    public boolean hasNext() {
+
+        try {
+            while(true) {
+                if(System.currentTimeMillis() - renewed > coordinator.getLeaseMillis() / 3) {
+                    renew();
+                }
+                if(current.hasNext()) {
+                    return true;
+                }
+                if(!claimShards()) {
+                    return false;
+                }
+            }
+        } catch(IOException ex) {
+            StatementExecutionException failure = new StatementExecutionException(
+                    "Severe: Shard coordination failed: " + ex.getMessage(), ex);
+            release(failure);
+            throw failure;
+        } catch(RuntimeException ex) {
+            release(ex);
+            throw ex;
+        }
+    }
+
+    @Override
+    public Row next() {
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Claims the next shards and starts scanning them. A shard is tracked as soon as it is
+     * claimed, so it is released if claiming the next one fails.
+     *
+     * @return false if no more shards could be claimed
+     */
+    private boolean claimShards() throws IOException {
+
+        // claims of the previous shards are all completed or lost
+        claims.clear();
+        while(claims.size() < parallelism) {
+            if(nextShard == plan.size()) {
+                if(!claimedInPass || !claims.isEmpty()) {
+                    break;
+                }
+                nextShard = 0;
+                claimedInPass = false;
+            }
+            int shard = nextShard++;
+            if(coordinator.claim(plan.getName(), shard)) {
+                claims.add(new Claim(shard));
+                claimedInPass = true;
+            }
+        }
+        if(claims.isEmpty()) {
+            return false;
+        }
+        renewed = System.currentTimeMillis();
+
+        List<GetStatement> statements = new ArrayList<>();
+        List<String> ends = new ArrayList<>();
+        List<Claim> owners = new ArrayList<>();
+        for(Claim claim : claims) {
+            List<GetStatement> shardStatements = plan.statements(claim.shard);
+            claim.first = statements.size();
+            claim.count = shardStatements.size();
+            claim.remaining = claim.count;
+            statements.addAll(shardStatements);
+            ends.addAll(plan.ends(claim.shard));
+            for(int s = 0; s < shardStatements.size(); s++) {
+                owners.add(claim);
+            }
+        }
+        for(Claim claim : claims) {
+            if(claim.remaining == 0) {
+                complete(claim);
+            }
+        }
+        scan = new PartitionScan(site, statements, ends, null, parallelism, cookies, index -> {
+            Claim owner = owners.get(index);
+            if(--owner.remaining == 0) {
+                complete(owner);
+            }
+        });
+        current = scan;
+        return true;
+    }
+
+    /**
+     * Renews the claimed shards, aborting the scan of shards whose claim was lost.
+     */
+    private void renew() throws IOException {
+
+        for(Claim claim : claims) {
+            if(claim.state == Claim.CLAIMED && !coordinator.renew(plan.getName(), claim.shard)) {
+                claim.state = Claim.LOST;
+                LOGGER.log(Level.WARNING, "Lost claim of shard {0} of plan {1}, no longer scanning it",
+                        new Object[] {claim.shard, plan.getName()});
+                for(int i = claim.first; i < claim.first + claim.count; i++) {
+                    scan.abort(i);
+                }
+            }
+        }
+        renewed = System.currentTimeMillis();
+    }
+
+    private void complete(Claim claim) {
+        if(claim.state != Claim.CLAIMED) {
+            return;
+        }
+        try {
+            coordinator.complete(plan.getName(), claim.shard);
+            claim.state = Claim.COMPLETED;
+        } catch(IOException ex) {
+            throw new StatementExecutionException("Severe: Shard coordination failed: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Releases the claimed shards not yet completed, adding any failure to passed in failure.
+     */
+    private void release(Throwable failure) {
+
+        for(Claim claim : claims) {
+            if(claim.state == Claim.CLAIMED) {
+                try {
+                    coordinator.release(plan.getName(), claim.shard);
+                } catch(IOException | RuntimeException ex) {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        claims.clear();
+        current = Collections.emptyIterator();
+    }
+
+    /**
+     * A shard claimed by this worker and the partitions of it not yet consumed.
+     */
+    private static final class Claim {
+
+        private static final int CLAIMED = 0;
+        private static final int COMPLETED = 1;
+        private static final int LOST = 2;
+
+        private final int shard;
+        private int state = CLAIMED;
+        private int first;
+        private int count;
+        private int remaining;
+
+        private Claim(int shard) {
+            this.shard = shard;
+        }
+    }
+}
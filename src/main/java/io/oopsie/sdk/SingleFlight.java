@@ -0,0 +1,131 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.transport.TransportRequest;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Internally used by SDK to share one exchange among identical requests in flight
+ * at the same time. The first caller of a request performs the exchange and any
+ * caller of the same request arriving before it completes waits for, and shares,
+ * its decoded result. Requests are identical when they have the same URI and
+ * are sent with the same auth headers. A write to a resource forgets the requests to
+ * that resource in flight, so callers arriving after it send their own request.
+ */
+final class SingleFlight {
+
+    private final ConcurrentMap<String, CompletableFuture<ResultDecoder>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the key identifying passed in request.
+     * @param request the request
+     * @param resource the resource of the request
+     * @return the key
+     */
+    static String key(TransportRequest request, Resource resource) {
+
+        StringBuilder key = new StringBuilder(prefix(resource)).append(request.getUri());
+        appendHeader(key, request, "Authorization");
+        appendHeader(key, request, "Cookie");
+        return key.toString();
+    }
+
+    /**
+     * Performs passed in exchange in calling thread, or waits for the identical one
+     * already in flight.
+     *
+     * @param key the request key
+     * @param exchange performs the exchange and decodes the response
+     * @return the decoded result
+     */
+    ResultDecoder execute(String key, Supplier<ResultDecoder> exchange) {
+
+        CompletableFuture<ResultDecoder> flight = new CompletableFuture<>();
+        CompletableFuture<ResultDecoder> existing = flights.putIfAbsent(key, flight);
+        if(existing != null) {
+            try {
+                return existing.join();
+            } catch(CompletionException ex) {
+                if(ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException)ex.getCause();
+                }
+                throw ex;
+            }
+        }
+
+        try {
+            ResultDecoder decoded = exchange.get();
+            flights.remove(key, flight);
+            flight.complete(decoded);
+            return decoded;
+        } catch(RuntimeException | Error ex) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Starts passed in asynchronous exchange, or returns the identical one already in flight.
+     *
+     * @param key the request key
+     * @param exchange starts the exchange and decodes the response
+     * @return the future decoded result
+     */
+    CompletableFuture<ResultDecoder> executeAsync(String key,
+            Supplier<CompletableFuture<ResultDecoder>> exchange) {
+
+        CompletableFuture<ResultDecoder> flight = new CompletableFuture<>();
+        CompletableFuture<ResultDecoder> existing = flights.putIfAbsent(key, flight);
+        if(existing != null) {
+            return existing;
+        }
+
+        CompletableFuture<ResultDecoder> started;
+        try {
+            started = exchange.get();
+        } catch(RuntimeException | Error ex) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+        started.whenComplete((decoded, error) -> {
+            flights.remove(key, flight);
+            if(error != null) {
+                flight.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                flight.complete(decoded);
+            }
+        });
+        return flight;
+    }
+
+    /**
+     * Forgets the requests to passed in resource in flight, callers of identical requests
+     * arriving later send their own request. Callers already waiting still share the response.
+     *
+     * @param resource the written resource
+     */
+    void forget(Resource resource) {
+
+        String prefix = prefix(resource);
+        flights.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private static String prefix(Resource resource) {
+        return resource.getResourceId() + "\n";
+    }
+
+    private static void appendHeader(StringBuilder key, TransportRequest request, String name) {
+
+        List<String> values = request.getHeaders().get(name);
+        if(values != null) {
+            key.append('\n').append(name).append(": ").append(String.join("; ", values));
+        }
+    }
+}
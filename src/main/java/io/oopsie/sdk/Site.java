@@ -6,25 +6,39 @@ import io.oopsie.sdk.error.StatementExecutionException;
 import io.oopsie.sdk.error.SiteCreationException;
 import io.oopsie.sdk.error.IllegalIdentificationException;
 import io.oopsie.sdk.error.SiteInitializationException;
+import io.oopsie.sdk.error.StatementParamException;
+import io.oopsie.sdk.transport.ConnectionPoolConfig;
+import io.oopsie.sdk.transport.HttpAsyncClientTransport;
+import io.oopsie.sdk.transport.HttpURLConnectionTransport;
+import io.oopsie.sdk.transport.RequestMethod;
+import io.oopsie.sdk.transport.Transport;
+import io.oopsie.sdk.transport.TransportRequest;
+import io.oopsie.sdk.transport.TransportResponse;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * An instance of this class is the link between the client and the OOPSIE Cloud Site.
@@ -33,15 +47,27 @@ import org.springframework.web.client.RestTemplate;
 public class Site {
     
     private static final String URI_API_VERSION = "/api/v1";
+    private static final Logger LOGGER = Logger.getLogger(Site.class.getName());
     
-    private ExecutorService cachedThreadPool;
+    private ExecutorService executorService;
+    private boolean ownsExecutorService;
+    private ConnectionPoolConfig connectionPoolConfig = new ConnectionPoolConfig();
+    private Transport transport;
+    private boolean ownsTransport;
     private String apiUrl;
     private URI apiUri;
     private UUID customerId;
     private UUID siteId;
     private String apiKey;
-    private boolean initialized;
-    private Applications applications;
+    private volatile boolean initialized;
+    private volatile Applications applications;
+    private Path snapshotDirectory;
+    private final List<SchemaChangeListener> schemaChangeListeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService schemaRefresher;
+    private final List<WriteBuffer> writeBuffers = new CopyOnWriteArrayList<>();
+    private volatile EntityCache entityCache;
+    private final SingleFlight flights = new SingleFlight();
+    private volatile boolean coalescingRequests;
 
     /**
      * Create a new {@link Site} object. to be able to use it you need
@@ -193,6 +219,132 @@ public class Site {
         this.initialized = false;
     }
     
+    /**
+     * Returns the connection pool settings used for the HTTP transport created
+     * in {@link #init()}.
+     * @return the connection pool settings
+     */
+    public ConnectionPoolConfig getConnectionPoolConfig() {
+        return connectionPoolConfig;
+    }
+
+    /**
+     * Sets the connection pool settings used for the default HTTP transport. Not used
+     * if a {@link Transport} has been set by calling {@link #setTransport(io.oopsie.sdk.transport.Transport) }.
+     * You must call {@link #init()} again to reinitialize the {@link Site} object.
+     * @param connectionPoolConfig the connection pool settings
+     */
+    public void setConnectionPoolConfig(ConnectionPoolConfig connectionPoolConfig) {
+        if(connectionPoolConfig == null) {
+            throw new IllegalArgumentException("connectionPoolConfig can't be null");
+        }
+        this.connectionPoolConfig = connectionPoolConfig;
+        this.initialized = false;
+    }
+    
+    /**
+     * Sets the {@link Transport} all statement and user auth calls are sent through.
+     * A transport set by this method is owned by the caller and will not be closed
+     * when this {@link Site} is closed. Pass in null to use the default transport, a pooled
+     * {@link HttpAsyncClientTransport} if httpasyncclient is on the classpath and a
+     * {@link HttpURLConnectionTransport} otherwise.
+     * You must call {@link #init()} again to reinitialize the {@link Site} object.
+     * 
+     * @param transport the transport or null for default
+     */
+    public synchronized void setTransport(Transport transport) {
+        closeTransport();
+        this.transport = transport;
+        this.ownsTransport = false;
+        this.initialized = false;
+    }
+    
+    /**
+     * Sets the {@link ExecutorService} used for asynchronous executions. An executor
+     * service set by this method is owned by the caller and will not be shut down when
+     * this {@link Site} is closed. Pass in null to use the default executor service, which
+     * is a virtual thread per task executor when running on Java 21 or later and a
+     * work stealing pool otherwise.
+     * You must call {@link #init()} again to reinitialize the {@link Site} object.
+     * 
+     * @param executorService the executor service or null for default
+     * @see #executeAsync(io.oopsie.sdk.Statement) 
+     */
+    public synchronized void setExecutorService(ExecutorService executorService) {
+        if(ownsExecutorService && this.executorService != null) {
+            this.executorService.shutdown();
+        }
+        this.executorService = executorService;
+        this.ownsExecutorService = false;
+        this.initialized = false;
+    }
+    
+    /**
+     * Returns the {@link EntityCache} in use.
+     * @return the entity cache or null if not caching
+     */
+    public EntityCache getEntityCache() {
+        return entityCache;
+    }
+    
+    /**
+     * Sets the {@link EntityCache} that reads by primary key are served from. Pass in null
+     * to stop caching.
+     * 
+     * @param entityCache the entity cache or null
+     */
+    public void setEntityCache(EntityCache entityCache) {
+        this.entityCache = entityCache;
+    }
+    
+    /**
+     * Returns true if identical GET requests in flight at the same time share one exchange.
+     * @return true if coalescing requests
+     * @see #setCoalescingRequests(boolean) 
+     */
+    public boolean isCoalescingRequests() {
+        return coalescingRequests;
+    }
+    
+    /**
+     * Sets whether identical GET requests, i.e. with the same resource, view, params
+     * and auth, in flight at the same time should share one exchange. Callers arriving
+     * while the request is in flight wait for its response instead of sending their own,
+     * each still getting its own {@link ResultSet}, sharing the same unmodifiable row values.
+     * A write to a resource sent through this site ends the sharing of requests to that resource
+     * in flight, so reads made after a write don't get a response to a request sent before it.
+     * Writes made by any other client may still be missed by a read joining a request sent
+     * before them. Disabled by default.
+     * 
+     * @param coalescingRequests true to coalesce requests
+     */
+    public void setCoalescingRequests(boolean coalescingRequests) {
+        this.coalescingRequests = coalescingRequests;
+    }
+    
+    /**
+     * Returns the directory site snapshots are stored in.
+     * @return the snapshot directory or null if not using snapshots
+     * @see #setSnapshotDirectory(java.nio.file.Path) 
+     */
+    public Path getSnapshotDirectory() {
+        return snapshotDirectory;
+    }
+    
+    /**
+     * Sets the directory to store a snapshot of the site model in. When set, {@link #init()}
+     * saves the model fetched from the site to a snapshot file for this customer and site.
+     * Next time {@link #init()} is called and a snapshot file exists the model is loaded
+     * from the snapshot and the site is initialized without waiting for the site's init
+     * endpoint. The snapshot is then revalidated in the background and the model replaced
+     * if the site has changed. Pass in null to not use snapshots.
+     * 
+     * @param snapshotDirectory the snapshot directory or null
+     */
+    public void setSnapshotDirectory(Path snapshotDirectory) {
+        this.snapshotDirectory = snapshotDirectory;
+    }
+    
     /**
      * Initializes the {@link Site} object by calling init on the sites API
      * using the site information provided when the {@link Site} object was created
@@ -201,27 +353,227 @@ public class Site {
      * @throws SiteInitializationException if method could not initialize the object.
      */
     public final void init() throws SiteInitializationException {
-        cachedThreadPool = Executors.newWorkStealingPool();
-        RestTemplate restTemplate = new RestTemplate();
-        ResponseEntity response = null;
+        synchronized(this) {
+            if(executorService == null || executorService.isShutdown()) {
+                executorService = AsyncExecutors.newDefaultExecutor();
+                ownsExecutorService = true;
+            }
+        }
+        synchronized(this) {
+            if(ownsTransport) {
+                // recreate to pick up any changed connection pool settings
+                closeTransport();
+            }
+        }
+        
+        Path snapshot = snapshotDirectory != null
+                ? SiteSnapshot.file(snapshotDirectory, customerId, siteId) : null;
+        if(snapshot != null && initFromSnapshot(snapshot)) {
+            return;
+        }
+        
+        Map<String, Object> body = fetchInit();
+        swapModel(body);
+        this.initialized = true;
+        if(snapshot != null) {
+            writeSnapshot(snapshot, body);
+        }
+    }
+    
+    /**
+     * Initializes the model from a snapshot file, if there is one, and revalidates it
+     * against the site's init endpoint in the background.
+     */
+    private boolean initFromSnapshot(Path snapshot) {
+        
+        Map<String, Object> snapshotBody;
+        Applications snapshotApplications;
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("oopsie-customer-id", customerId.toString());
-            headers.set("oopsie-site-id", siteId.toString());
-            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-            HttpEntity httpEntity = new HttpEntity(headers);
-            response = restTemplate.exchange(apiUri + "/init", HttpMethod.GET, httpEntity, Map.class);
-        } catch(RestClientException ex) {
-            throw new SiteInitializationException("Could not initialize OopsieSite object. "
-                    + "Is your site deployed and/or is the passed in api URI correct?");
+            snapshotBody = SiteSnapshot.read(snapshot);
+            if(snapshotBody == null) {
+                return false;
+            }
+            snapshotApplications = InitParser.parse(snapshotBody);
+        } catch(IOException | RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Could not read site snapshot " + snapshot + ", initializing from site", ex);
+            return false;
+        }
+        
+        this.applications = snapshotApplications;
+        this.initialized = true;
+        executorService.execute(() -> {
+            try {
+                Map<String, Object> body = fetchInit();
+                if(swapModel(body)) {
+                    writeSnapshot(snapshot, body);
+                }
+            } catch(RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Could not revalidate site snapshot " + snapshot, ex);
+                refreshFailed(ex);
+            }
+        });
+        return true;
+    }
+    
+    /**
+     * Refetches the site model from the site's init endpoint and, if it has changed, swaps
+     * it in and notifies all {@link SchemaChangeListener}s. The swap is atomic, statements
+     * executing while the model is refreshed are not affected and the site stays initialized.
+     * 
+     * @return true if the model changed
+     * @throws SiteInitializationException if not initialized or the model couldn't be fetched
+     * @see #startSchemaRefresh(long, java.util.concurrent.TimeUnit) 
+     */
+    public boolean refreshSchema() throws SiteInitializationException {
+        
+        if(!initialized) {
+            throw new SiteInitializationException("Site not initialized.");
+        }
+        Map<String, Object> body = fetchInit();
+        boolean changed = swapModel(body);
+        if(changed && snapshotDirectory != null) {
+            writeSnapshot(SiteSnapshot.file(snapshotDirectory, customerId, siteId), body);
         }
+        return changed;
+    }
+    
+    /**
+     * Starts refreshing the site model periodically in the background.
+     * Any previously started refresh is stopped. Failed refreshes are logged and passed to
+     * {@link SchemaChangeListener#schemaRefreshFailed(io.oopsie.sdk.error.SiteInitializationException) }.
+     * 
+     * @param period time between refreshes
+     * @param unit unit of period
+     * @see #refreshSchema() 
+     * @see #addSchemaChangeListener(io.oopsie.sdk.SchemaChangeListener) 
+     */
+    public synchronized void startSchemaRefresh(long period, TimeUnit unit) {
+        
+        stopSchemaRefresh();
+        schemaRefresher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "oopsie-schema-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        schemaRefresher.scheduleWithFixedDelay(() -> {
+            try {
+                refreshSchema();
+            } catch(RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Could not refresh site schema", ex);
+                refreshFailed(ex);
+            }
+        }, period, period, unit);
+    }
+    
+    /**
+     * Stops refreshing the site model periodically.
+     */
+    public synchronized void stopSchemaRefresh() {
         
-        if(response.getStatusCodeValue() != HttpStatus.OK.value()) {
+        if(schemaRefresher != null) {
+            schemaRefresher.shutdownNow();
+            schemaRefresher = null;
+        }
+    }
+    
+    /**
+     * Adds a listener notified when a refresh finds the site model has changed.
+     * @param listener the listener
+     */
+    public void addSchemaChangeListener(SchemaChangeListener listener) {
+        schemaChangeListeners.add(listener);
+    }
+    
+    /**
+     * Removes a listener.
+     * @param listener the listener
+     */
+    public void removeSchemaChangeListener(SchemaChangeListener listener) {
+        schemaChangeListeners.remove(listener);
+    }
+    
+    /**
+     * Swaps in the model of passed in init body if it differs from the current one.
+     */
+    private boolean swapModel(Map<String, Object> body) {
+        
+        SchemaSignature signature = SchemaSignature.of((Map)body);
+        Applications current;
+        List<SchemaChange> changes;
+        synchronized(this) {
+            Applications previous = applications;
+            if(previous != null && previous.signature().equals(signature)) {
+                return false;
+            }
+            current = InitParser.parse(body, signature);
+            changes = previous != null
+                    ? SchemaChange.diff(previous.signature(), signature) : Collections.emptyList();
+            this.applications = current;
+        }
+        
+        if(!changes.isEmpty()) {
+            for(SchemaChangeListener listener : schemaChangeListeners) {
+                try {
+                    listener.schemaChanged(current, changes);
+                } catch(RuntimeException ex) {
+                    LOGGER.log(Level.WARNING, "Error in schema change listener " + listener, ex);
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Notifies all {@link SchemaChangeListener}s of a failed background refresh.
+     */
+    private void refreshFailed(RuntimeException ex) {
+        
+        SiteInitializationException failure = ex instanceof SiteInitializationException
+                ? (SiteInitializationException)ex
+                : new SiteInitializationException("Could not refresh site schema: " + ex.getMessage(), ex);
+        for(SchemaChangeListener listener : schemaChangeListeners) {
+            try {
+                listener.schemaRefreshFailed(failure);
+            } catch(RuntimeException listenerEx) {
+                LOGGER.log(Level.WARNING, "Error in schema change listener " + listener, listenerEx);
+            }
+        }
+    }
+    
+    private void writeSnapshot(Path snapshot, Map<String, Object> body) {
+        try {
+            SiteSnapshot.write(snapshot, body);
+        } catch(IOException ex) {
+            LOGGER.log(Level.WARNING, "Could not write site snapshot " + snapshot, ex);
+        }
+    }
+    
+    /**
+     * Fetches the body of the site's init endpoint.
+     */
+    private Map<String, Object> fetchInit() throws SiteInitializationException {
+        
+        Map<String, List<String>> headers = Http.siteHeaders(customerId, siteId);
+        headers.put("Accept", Http.APPLICATION_JSON);
+        TransportRequest request = new TransportRequest(RequestMethod.GET,
+                URI.create(apiUri + "/init"), headers, null);
+        
+        Map<String, Object> body;
+        try (TransportResponse response = transport().exchange(request)) {
+            if(response.getStatusCode() >= 400) {
+                throw new SiteInitializationException("Could not initialize OopsieSite object. "
+                        + "Is your site deployed and/or is the passed in api URI correct?");
+            }
+            if(response.getStatusCode() != 200) {
+                throw new SiteInitializationException("Could not initialize OopsieSite object. "
+                + response.getReasonPhrase());
+            }
+            body = Json.readMap(response.getBody());
+        } catch(IOException ex) {
             throw new SiteInitializationException("Could not initialize OopsieSite object. "
-            + response.getStatusCode().getReasonPhrase());
+                    + "Is your site deployed and/or is the passed in api URI correct?");
         }
-        this.applications = InitParser.parse(response);
-        this.initialized = true;
+        return body;
     }
     
     /**
@@ -256,10 +608,7 @@ public class Site {
      */
     public final ResultSet execute(Statement statement) throws AlreadyExecutedException,
             StatementExecutionException, SiteInitializationException  {
-        if(!initialized) {
-            throw new SiteInitializationException("Site not initialized.");
-        }
-        return statement.execute(apiUri, customerId, siteId, apiKey, null);
+        return execute(statement, null);
     }
     
     /**
@@ -284,30 +633,43 @@ public class Site {
         if(!initialized) {
             throw new SiteInitializationException("Site not initialized.");
         }
-        return statement.execute(apiUri, customerId, siteId, apiKey, cookies);
+        EntityCache cache = entityCache;
+        if(cache == null) {
+            return statement.execute(transport(), flights(), apiUri, customerId, siteId,
+                    apiKey, cookies);
+        }
+        ResultSet cached = cache.read(statement, cookies);
+        if(cached != null) {
+            return cached;
+        }
+        long generation = cache.generation();
+        try {
+            ResultSet result = statement.execute(transport(), flights(), apiUri, customerId, siteId,
+                    apiKey, cookies);
+            cache.executed(statement, cookies, result, generation);
+            return result;
+        } finally {
+            cache.written(statement);
+        }
     }
     
     /**
-     * Executes passed in {@link Statement} asynchronously.
+     * Executes passed in {@link Statement} asynchronously. The returned future completes
+     * when the response has been received. If the {@link Transport} in use is non-blocking,
+     * like {@link io.oopsie.sdk.transport.HttpAsyncClientTransport}, no thread is held
+     * while waiting for the response. If execution fails the future completes exceptionally
+     * with a {@link StatementExecutionException}.
      * 
      * @param statement the {@link Statement} to execute
-     * @return A {@link Future} {@link ResultSet}
+     * @return A {@link CompletableFuture} {@link ResultSet}
      * @throws AlreadyExecutedException if passed in {@link Statement} was previously executed
      * @throws StatementExecutionException if execution could not be fullfilled
      * @throws SiteInitializationException if not initialized properly
      */
-    public Future<ResultSet> executeAsync(Statement statement) throws AlreadyExecutedException,
+    public CompletableFuture<ResultSet> executeAsync(Statement statement) throws AlreadyExecutedException,
             StatementExecutionException, SiteInitializationException {
         
-        if(!initialized) {
-            throw new SiteInitializationException("Site not initialized.");
-        }
-        
-        if(statement.isUsingPageState()) {
-            throw new SiteInitializationException("Asynchronous execution with page state not supported.");
-        }
-        return cachedThreadPool.submit(() -> statement.execute(apiUri, customerId, siteId,
-                apiKey, null));
+        return executeAsync(statement, null);
     }
     
     /**
@@ -317,7 +679,7 @@ public class Site {
      * 
      * @param statement the {@link Statement} to execute
      * @param cookies the auth cookies
-     * @return A {@link Future} {@link ResultSet}
+     * @return A {@link CompletableFuture} {@link ResultSet}
      * @see #executeAsync(io.oopsie.sdk.Statement) 
      * @see #setApiKey(java.lang.String)
      * @see #login(io.oopsie.sdk.UserCredentials)
@@ -325,48 +687,579 @@ public class Site {
      * @throws StatementExecutionException if execution could not be fullfilled
      * @throws SiteInitializationException if not initialized properly
      */
-    public Future<ResultSet> executeAsync(Statement statement, List<String> cookies) throws AlreadyExecutedException,
+    public CompletableFuture<ResultSet> executeAsync(Statement statement, List<String> cookies)
+            throws AlreadyExecutedException, StatementExecutionException, SiteInitializationException {
+        
+        if(!initialized) {
+            throw new SiteInitializationException("Site not initialized.");
+        }
+        EntityCache cache = entityCache;
+        if(cache == null) {
+            return statement.executeAsync(transport(), executorService, flights(), apiUri,
+                    customerId, siteId, apiKey, cookies);
+        }
+        ResultSet cached = cache.read(statement, cookies);
+        if(cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        long generation = cache.generation();
+        CompletableFuture<ResultSet> execution = statement.executeAsync(transport(), executorService,
+                flights(), apiUri, customerId, siteId, apiKey, cookies);
+        return execution.handle((result, error) -> {
+            cache.written(statement);
+            if(error != null) {
+                throw error instanceof CompletionException
+                        ? (CompletionException)error : new CompletionException(error);
+            }
+            cache.executed(statement, cookies, result, generation);
+            return result;
+        });
+    }
+    
+    /**
+     * Executes passed in statements, keeping as many requests in flight at once as the
+     * connection pool allows per route. Statements for the same entity may run in any order.
+     * 
+     * @param statements the statements to execute
+     * @return the result or error of each statement
+     * @throws SiteInitializationException if not initialized properly
+     * @see #executeBatch(java.util.Collection, int, boolean) 
+     */
+    public BatchResult executeBatch(Collection<? extends Statement> statements)
+            throws SiteInitializationException {
+        return executeBatch(statements, connectionPoolConfig.getMaxPerRoute(), false);
+    }
+    
+    /**
+     * Executes passed in statements with at most concurrency requests in flight at once.
+     * A failing statement doesn't stop the batch, its error is reported in the returned
+     * {@link BatchResult}. If orderedByKey is true, statements writing the same entity, i.e.
+     * having the same resource and primary key values, are executed one after another in
+     * the order passed in. Statements without all primary key values, like creates of
+     * entities with generated keys, are never ordered.
+     * 
+     * @param statements the statements to execute
+     * @param concurrency maximum number of requests in flight
+     * @param orderedByKey true to keep the order of statements for the same entity
+     * @return the result or error of each statement
+     * @throws SiteInitializationException if not initialized properly
+     */
+    public BatchResult executeBatch(Collection<? extends Statement> statements, int concurrency,
+            boolean orderedByKey) throws SiteInitializationException {
+        return executeBatchAsync(statements, concurrency, orderedByKey).join();
+    }
+    
+    /**
+     * Executes passed in statements asynchronously with at most concurrency requests in
+     * flight at once. The returned future completes when all statements are done.
+     * 
+     * @param statements the statements to execute
+     * @param concurrency maximum number of requests in flight
+     * @param orderedByKey true to keep the order of statements for the same entity
+     * @return A {@link CompletableFuture} {@link BatchResult}
+     * @throws SiteInitializationException if not initialized properly
+     * @see #executeBatch(java.util.Collection, int, boolean) 
+     */
+    public CompletableFuture<BatchResult> executeBatchAsync(Collection<? extends Statement> statements,
+            int concurrency, boolean orderedByKey) throws SiteInitializationException {
+        
+        if(!initialized) {
+            throw new SiteInitializationException("Site not initialized.");
+        }
+        return Batches.executeAsync(this, statements, concurrency, orderedByKey);
+    }
+    
+    /**
+     * Fetches the entities of passed in resource identified by a single primary key
+     * attribute, e.g. "id". See {@link #getAll(io.oopsie.sdk.Resource, java.util.Collection, int) }.
+     * 
+     * @param resource the resource
+     * @param ids the primary key values
+     * @return the entities aligned to passed in ids, null for ids not found
+     * @throws StatementParamException if the resource's primary key isn't a single attribute
+     * @throws StatementExecutionException if any lookup failed
+     * @throws SiteInitializationException if not initialized properly
+     */
+    public List<Row> getAll(Resource resource, List<UUID> ids) throws StatementParamException,
             StatementExecutionException, SiteInitializationException {
         
+        Set<String> pk = resource.getPrimaryKey().keySet();
+        if(pk.size() != 1) {
+            throw new StatementParamException("Primary key of '" + resource.getName()
+                    + "' is not a single attribute.");
+        }
+        String name = pk.iterator().next();
+        List<Map<String, Object>> keys = new ArrayList<>(ids.size());
+        ids.forEach(id -> keys.add(Collections.singletonMap(name, id)));
+        return getAll(resource, keys, connectionPoolConfig.getMaxPerRoute());
+    }
+    
+    /**
+     * Fetches the entities of passed in resource identified by their primary keys, with at most
+     * concurrency lookups in flight at once. Each key must hold values for exactly all
+     * primary key attributes of the resource. Duplicate keys are only fetched once.
+     * 
+     * @param resource the resource
+     * @param keys the primary key values of each entity mapped to their attribute names
+     * @param concurrency maximum number of lookups in flight
+     * @return the entities aligned to passed in keys, null for keys not found
+     * @throws StatementParamException if any key doesn't match the resource's primary key
+     * @throws StatementExecutionException if any lookup failed
+     * @throws SiteInitializationException if not initialized properly
+     */
+    public List<Row> getAll(Resource resource, Collection<Map<String, Object>> keys, int concurrency)
+            throws StatementParamException, StatementExecutionException, SiteInitializationException {
+        
+        try {
+            return getAllAsync(resource, keys, concurrency).join();
+        } catch(CompletionException ex) {
+            if(ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)ex.getCause();
+            }
+            throw ex;
+        }
+    }
+    
+    /**
+     * Fetches the entities of passed in resource identified by their primary keys asynchronously.
+     * 
+     * @param resource the resource
+     * @param keys the primary key values of each entity mapped to their attribute names
+     * @param concurrency maximum number of lookups in flight
+     * @return A {@link CompletableFuture} of the entities aligned to passed in keys
+     * @throws StatementParamException if any key doesn't match the resource's primary key
+     * @throws SiteInitializationException if not initialized properly
+     * @see #getAll(io.oopsie.sdk.Resource, java.util.Collection, int) 
+     */
+    public CompletableFuture<List<Row>> getAllAsync(Resource resource, Collection<Map<String, Object>> keys,
+            int concurrency) throws StatementParamException, SiteInitializationException {
+        
+        return Batches.getAllAsync(this, resource, keys, concurrency);
+    }
+    
+    /**
+     * Saves passed in {@link Entity} if any of its attributes was changed, and marks the
+     * changes as saved. Nothing is sent for an unchanged entity.
+     * 
+     * @param entity the entity
+     * @return the result of the save or null if skipped
+     * @throws StatementExecutionException if execution fails
+     * @throws SiteInitializationException if not initialized properly
+     */
+    public ResultSet save(Entity entity) throws StatementExecutionException, SiteInitializationException {
+        
+        Map<String, Object> changes;
+        SaveStatement statement;
+        synchronized(entity) {
+            if(!entity.isDirty()) {
+                return null;
+            }
+            changes = entity.changes();
+            statement = entity.toSaveStatement();
+        }
+        ResultSet result = execute(statement);
+        entity.saved(changes);
+        return result;
+    }
+    
+    /**
+     * Saves passed in {@link Entity} asynchronously if any of its attributes was changed, and
+     * marks the changes as saved once successfully saved. Nothing is sent for an unchanged entity.
+     * 
+     * @param entity the entity
+     * @return A {@link CompletableFuture} of the result of the save, completed with null if skipped
+     * @throws SiteInitializationException if not initialized properly
+     */
+    public CompletableFuture<ResultSet> saveAsync(Entity entity) throws SiteInitializationException {
+        
+        Map<String, Object> changes;
+        SaveStatement statement;
+        // the changes marked as saved are exactly the ones sent
+        synchronized(entity) {
+            if(!entity.isDirty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            changes = entity.changes();
+            statement = entity.toSaveStatement();
+        }
+        CompletableFuture<ResultSet> execution = executeAsync(statement);
+        return execution.thenApply(result -> {
+            entity.saved(changes);
+            return result;
+        });
+    }
+    
+    /**
+     * Creates a write-behind buffer of saves executed through this site, merging saves of the
+     * same entity until flushed. Pending saves are flushed when closing this site gracefully and
+     * fail when closing it immediately.
+     * 
+     * @param maxPending number of pending entities to flush at
+     * @param maxAge the age of the oldest pending save to flush at
+     * @param unit unit of maxAge
+     * @return a new write buffer
+     * @see WriteBuffer
+     */
+    public WriteBuffer createWriteBuffer(int maxPending, long maxAge, TimeUnit unit) {
+        
+        WriteBuffer buffer = new WriteBuffer(this, maxPending, maxAge, unit, connectionPoolConfig.getMaxPerRoute());
+        writeBuffers.add(buffer);
+        return buffer;
+    }
+    
+    /**
+     * Prepares passed in statement as a reusable and thread safe {@link PreparedStatement}.
+     * The template statement's resource, view and params are used by all executions, the
+     * named params are bound for each execution. The template is not executed and can
+     * be discarded.
+     * 
+     * @param template the statement to prepare
+     * @param paramNames the names of the params to bind for each execution
+     * @return a prepared statement
+     * @throws StatementParamException if a param name isn't part of the template's resource
+     * @throws SiteInitializationException if not initialized properly
+     * @see PreparedStatement#bind(java.lang.Object...) 
+     */
+    public PreparedStatement prepare(Statement template, String... paramNames)
+            throws StatementParamException, SiteInitializationException {
+        
+        if(!initialized) {
+            throw new SiteInitializationException("Site not initialized.");
+        }
+        return new PreparedStatement(this, template, paramNames, apiUri, customerId, siteId, apiKey);
+    }
+    
+    /**
+     * Internally used by SDK to execute a {@link BoundStatement}.
+     */
+    ResultSet execute(BoundStatement statement, List<String> cookies)
+            throws StatementExecutionException, SiteInitializationException {
+        
         if(!initialized) {
             throw new SiteInitializationException("Site not initialized.");
         }
+        EntityCache cache = entityCache;
+        long generation = 0;
+        if(cache != null) {
+            ResultSet cached = cache.read(statement, cookies);
+            if(cached != null) {
+                return cached;
+            }
+            generation = cache.generation();
+        }
+        try {
+            ResultDecoder decoded = Exchanges.exchange(transport(), flights(), statement.request(cookies),
+                    statement.resource());
+            ResultSet result = new ResultSet(null, true, decoded.getColumns(), decoded.getRows(),
+                    decoded.getPageState());
+            if(cache != null) {
+                cache.executed(statement, cookies, result, generation);
+            }
+            return result;
+        } finally {
+            if(cache != null) {
+                cache.written(statement);
+            }
+        }
+    }
+    
+    /**
+     * Internally used by SDK to execute a {@link BoundStatement} asynchronously.
+     */
+    CompletableFuture<ResultSet> executeAsync(BoundStatement statement, List<String> cookies)
+            throws SiteInitializationException {
         
-        if(statement.isUsingPageState()) {
-            throw new SiteInitializationException("Asynchronous execution with page state not supported.");
+        if(!initialized) {
+            throw new SiteInitializationException("Site not initialized.");
+        }
+        EntityCache cache = entityCache;
+        long generation = cache != null ? cache.generation() : 0;
+        if(cache != null) {
+            ResultSet cached = cache.read(statement, cookies);
+            if(cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
         }
-        return cachedThreadPool.submit(() -> statement.execute(apiUri, customerId, siteId,
-                apiKey, cookies));
+        CompletableFuture<ResultDecoder> decoding;
+        try {
+            decoding = Exchanges.exchangeAsync(transport(), executorService, flights(),
+                    statement.request(cookies), statement.resource());
+        } catch(RuntimeException ex) {
+            CompletableFuture<ResultSet> failed = new CompletableFuture<>();
+            failed.completeExceptionally(ex);
+            return failed;
+        }
+        return decoding.handle((decoded, error) -> {
+            if(cache != null) {
+                cache.written(statement);
+            }
+            if(error != null) {
+                throw error instanceof CompletionException
+                        ? (CompletionException)error : new CompletionException(error);
+            }
+            ResultSet result = new ResultSet(null, true, decoded.getColumns(), decoded.getRows(),
+                    decoded.getPageState());
+            if(cache != null) {
+                cache.executed(statement, cookies, result, generation);
+            }
+            return result;
+        });
+    }
+    
+    /**
+     * Returns all rows of passed in {@link GetStatement}, page by page. The
+     * statement's page state is followed transparently and each page is released once
+     * its rows have been consumed. The returned {@link Iterable} can only be iterated once
+     * and, as the statement is executed while iterating, any execution failure is thrown
+     * from the iterator.
+     * 
+     * @param statement the statement to fetch all pages of
+     * @return all rows
+     * @see #stream(io.oopsie.sdk.GetStatement, boolean) 
+     * @see GetStatement#nextPage() 
+     */
+    public Iterable<Row> stream(GetStatement statement) {
+        return stream(statement, false, null);
+    }
+    
+    /**
+     * Returns all rows of passed in {@link GetStatement}, page by page. If prefetching,
+     * the next page is fetched in the background while the rows of current page are consumed,
+     * i.e. at most two pages are held in memory at any time.
+     * 
+     * @param statement the statement to fetch all pages of
+     * @param prefetch true to fetch next page while current page is consumed
+     * @return all rows
+     * @see #stream(io.oopsie.sdk.GetStatement) 
+     */
+    public Iterable<Row> stream(GetStatement statement, boolean prefetch) {
+        return stream(statement, prefetch, null);
+    }
+    
+    /**
+     * Returns all rows of passed in {@link GetStatement}, page by page.
+     * This method will prioritize the use of user auth cookies over the set api key. Pass in null
+     * for the cookies param to use the set api key.
+     * 
+     * @param statement the statement to fetch all pages of
+     * @param prefetch true to fetch next page while current page is consumed
+     * @param cookies the auth cookies
+     * @return all rows
+     * @see #stream(io.oopsie.sdk.GetStatement, boolean) 
+     * @see #login(io.oopsie.sdk.UserCredentials)
+     */
+    public Iterable<Row> stream(GetStatement statement, boolean prefetch, List<String> cookies) {
+        return () -> new PagingIterator(this, statement, cookies, prefetch);
+    }
+    
+    /**
+     * Returns all rows of passed in template {@link GetStatement} for each of passed in partitions,
+     * paging through the partitions in parallel with at most as many requests in flight as the
+     * connection pool allows per route.
+     * 
+     * @param template the statement holding the view and any params common to all partitions
+     * @param partitions the partition key values of each partition mapped to their attribute names
+     * @param ordered true to merge the rows of all partitions in cluster key order, false to return
+     * rows in whatever order pages arrive
+     * @return all rows of all partitions
+     * @throws StatementParamException if a partition lacks a partition key of the template's view
+     * @see #scan(io.oopsie.sdk.GetStatement, java.util.Collection, java.util.Comparator, int, java.util.List) 
+     */
+    public Iterable<Row> scan(GetStatement template, Collection<Map<String, Object>> partitions,
+            boolean ordered) throws StatementParamException {
+        return scan(template, partitions, ordered, connectionPoolConfig.getMaxPerRoute());
+    }
+    
+    /**
+     * Returns all rows of passed in template {@link GetStatement} for each of passed in partitions,
+     * paging through at most parallelism partitions at once. Ordered, rows are merged ascending by
+     * the cluster keys of the template's view in server order, which is only known of text,
+     * number, timestamp and boolean cluster keys. Merge views clustered by any other data type
+     * by an explicit {@link Comparator}.
+     * 
+     * @param template the statement holding the view and any params common to all partitions
+     * @param partitions the partition key values of each partition mapped to their attribute names
+     * @param ordered true to merge the rows of all partitions in cluster key order, false to return
+     * rows in whatever order pages arrive
+     * @param parallelism maximum number of pages fetched at once
+     * @return all rows of all partitions
+     * @throws StatementParamException if a partition lacks a partition key of the template's view
+     * or ordered and a cluster key of the view is of another data type
+     * @see #scan(io.oopsie.sdk.GetStatement, java.util.Collection, java.util.Comparator, int, java.util.List) 
+     */
+    public Iterable<Row> scan(GetStatement template, Collection<Map<String, Object>> partitions,
+            boolean ordered, int parallelism) throws StatementParamException {
+        
+        View view = template.getResource().getView(template.getView());
+        return scan(template, partitions, ordered ? Scans.clusterOrder(view) : null, parallelism, null);
+    }
+    
+    /**
+     * Returns all rows of passed in template {@link GetStatement} for each of passed in partitions.
+     * Each partition is fetched page by page by its own copy of the template, with the partition
+     * key values added as params. Unordered, at most parallelism partitions are scanned at once
+     * and rows are returned in whatever order pages arrive. Ordered, the current page of every
+     * partition is held and the rows are merged by passed in order, e.g. to merge views clustered
+     * descending, while at most parallelism pages are fetched ahead.
+     * <p>
+     * The returned {@link Iterable} can only be iterated once and any execution failure is thrown
+     * from the iterator. This method will prioritize the use of user auth cookies over the set
+     * api key. Pass in null for the cookies param to use the set api key.
+     * 
+     * @param template the statement holding the view and any params common to all partitions
+     * @param partitions the partition key values of each partition mapped to their attribute names
+     * @param order the order to merge rows by or null to not merge
+     * @param parallelism maximum number of pages fetched at once
+     * @param cookies the auth cookies
+     * @return all rows of all partitions
+     * @throws StatementParamException if a partition lacks a partition key of the template's view
+     */
+    public Iterable<Row> scan(GetStatement template, Collection<Map<String, Object>> partitions,
+            Comparator<Row> order, int parallelism, List<String> cookies) throws StatementParamException {
+        
+        return Scans.scan(this, template, partitions, order, parallelism, cookies);
+    }
+    
+    /**
+     * Returns the rows of all shards of passed in {@link ScanPlan} this worker is able to claim
+     * through passed in {@link ShardCoordinator}, scanning at most parallelism shards at once.
+     * Run it on every worker sharing the plan, each shard is scanned by one worker and completed
+     * once all its rows were returned by the iterator. Shards completed before are skipped, so a
+     * restarted worker only scans the shards not yet completed.
+     * <p>
+     * The returned {@link Iterable} can only be iterated once and any execution failure is thrown
+     * from the iterator, releasing the claimed shards not completed. Keep consuming rows well
+     * within the coordinator's lease time, since claims are renewed while iterating. A shard
+     * whose claim is found lost when renewed is no longer scanned by this worker, and rows of it
+     * already returned are returned again by the worker scanning it next.
+     * 
+     * @param plan the plan
+     * @param coordinator the coordinator of all workers
+     * @param parallelism maximum number of shards scanned at once
+     * @return the rows of all shards claimed
+     */
+    public Iterable<Row> scan(ScanPlan plan, ShardCoordinator coordinator, int parallelism) {
+        return () -> new ShardScan(this, plan, coordinator, parallelism, null);
+    }
+    
+    /**
+     * Pages through all rows of passed in {@link GetStatement}, recording the page state
+     * of every pagesPerRange page as checkpoints to replay the pages in parallel later.
+     * 
+     * @param template the statement to page through, not executed itself
+     * @param pagesPerRange number of pages in each range
+     * @return the checkpoints
+     * @throws StatementExecutionException if execution fails
+     * @throws StatementParamException if the template's limit isn't an integer
+     * @see #checkpoint(io.oopsie.sdk.GetStatement, int, java.util.function.Consumer) 
+     */
+    public PageCheckpoints checkpoint(GetStatement template, int pagesPerRange)
+            throws StatementExecutionException, StatementParamException {
+        return checkpoint(template, pagesPerRange, null);
+    }
+    
+    /**
+     * Pages through all rows of passed in {@link GetStatement}, recording the page state
+     * of every pagesPerRange page as checkpoints, and passes each row to passed in action.
+     * Use it to make the first export also record the checkpoints of later exports.
+     * Checkpoints are only valid as long as the paged data isn't heavily changed, a range
+     * whose end page state no longer shows up is replayed through to the last page.
+     * 
+     * @param template the statement to page through, not executed itself
+     * @param pagesPerRange number of pages in each range
+     * @param action the action to perform on each row or null
+     * @return the checkpoints
+     * @throws StatementExecutionException if execution fails
+     * @throws StatementParamException if the template's limit isn't an integer
+     * @see #replay(io.oopsie.sdk.GetStatement, io.oopsie.sdk.PageCheckpoints, int, java.nio.file.Path) 
+     */
+    public PageCheckpoints checkpoint(GetStatement template, int pagesPerRange, Consumer<Row> action)
+            throws StatementExecutionException, StatementParamException {
+        
+        return Scans.checkpoint(this, template, pagesPerRange, action);
+    }
+    
+    /**
+     * Returns all rows of passed in {@link GetStatement} by replaying the ranges of passed in
+     * checkpoints in parallel. See {@link #replay(io.oopsie.sdk.GetStatement, io.oopsie.sdk.PageCheckpoints, int, java.nio.file.Path) }.
+     * 
+     * @param template the statement the checkpoints were recorded by
+     * @param checkpoints the checkpoints
+     * @param parallelism maximum number of ranges replayed at once
+     * @return all rows of all ranges not completed
+     * @throws StatementParamException if the checkpoints were recorded for another resource or view
+     */
+    public Iterable<Row> replay(GetStatement template, PageCheckpoints checkpoints, int parallelism)
+            throws StatementParamException {
+        return replay(template, checkpoints, parallelism, null);
+    }
+    
+    /**
+     * Returns all rows of passed in {@link GetStatement} by replaying the ranges of passed in
+     * checkpoints in parallel, at most parallelism ranges at once, as a single stream of rows in
+     * whatever order pages arrive. Each range is paged through with the page size the checkpoints
+     * were recorded with. Ranges already completed are skipped.
+     * <p>
+     * Once all rows of a range were returned by the iterator the range is marked completed and,
+     * if a checkpoint file is passed in, the checkpoints are saved to it, so an interrupted replay
+     * can be resumed by loading the file with {@link PageCheckpoints#load(java.nio.file.Path) }.
+     * Rows of ranges not completed when interrupted are returned again when resumed.
+     * <p>
+     * The returned {@link Iterable} can only be iterated once and any execution failure is thrown
+     * from the iterator, as is a failure to save the checkpoint file.
+     * 
+     * @param template the statement the checkpoints were recorded by
+     * @param checkpoints the checkpoints
+     * @param parallelism maximum number of ranges replayed at once
+     * @param checkpointFile file to save progress to or null
+     * @return all rows of all ranges not completed
+     * @throws StatementParamException if the checkpoints were recorded for another resource or view
+     */
+    public Iterable<Row> replay(GetStatement template, PageCheckpoints checkpoints, int parallelism,
+            Path checkpointFile) throws StatementParamException {
+        
+        return Scans.replay(this, template, checkpoints, parallelism, checkpointFile);
     }
     
     /**
      * Closing this {@link Site} and releases any resources this object holds gracefully.
      * To use the {@link Site} object again you need to call {@link #init()} again.
+     * Flushing write buffers and awaiting running executions share the timeout.
      * 
      * @param timeout the time
      * @param timeUnit the time unit
-     * @return true if {@link Site} was gracefully closed, false if forced.
+     * @return true if {@link Site} was gracefully closed, false if forced or write buffers
+     * could not be flushed in time.
      * @see #close() 
      * 
      */
     public boolean close(long timeout, TimeUnit timeUnit) {
         
+        stopSchemaRefresh();
+        long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+        boolean flushed = closeWriteBuffers(deadline);
+        if(!ownsExecutorService || executorService == null) {
+            closeTransport();
+            return flushed;
+        }
+        
         boolean terminated = false;
-        cachedThreadPool.shutdown();
+        executorService.shutdown();
         try {
-            System.out.println("Shutting down ");
-            terminated = cachedThreadPool.awaitTermination(timeout, timeUnit);
+            LOGGER.fine("Shutting down site executor");
+            terminated = executorService.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
             if(!terminated) {
                 // timed out, lets shutdown now!
-                System.out.println("Graceful shutdown timed out, forcing termination.");
-                cachedThreadPool.shutdownNow();
+                LOGGER.warning("Graceful shutdown timed out, forcing termination.");
+                executorService.shutdownNow();
             }
         } catch(InterruptedException e) {
             // problems? ... shutdown now!
-            System.out.println("Error while waiting for graceful shutdown, forcing termination.");
-            cachedThreadPool.shutdownNow();
+            LOGGER.warning("Interrupted while waiting for graceful shutdown, forcing termination.");
+            executorService.shutdownNow();
         }
-        return terminated;
+        closeTransport();
+        return flushed && terminated;
     }
     
     /**
@@ -377,7 +1270,82 @@ public class Site {
      */
     public void close() {
         
-        cachedThreadPool.shutdownNow();
+        stopSchemaRefresh();
+        writeBuffers.forEach(WriteBuffer::discard);
+        writeBuffers.clear();
+        if(ownsExecutorService && executorService != null) {
+            executorService.shutdownNow();
+        }
+        closeTransport();
+    }
+    
+    /**
+     * Closes all write buffers, waiting until deadline, in {@link System#nanoTime() } time, for
+     * their pending saves to be flushed.
+     *
+     * @return true if all pending saves were flushed in time
+     */
+    private boolean closeWriteBuffers(long deadline) {
+        
+        if(writeBuffers.isEmpty()) {
+            return true;
+        }
+        CompletableFuture[] flushed = writeBuffers.stream().map(WriteBuffer::close)
+                .toArray(CompletableFuture[]::new);
+        writeBuffers.clear();
+        try {
+            CompletableFuture.allOf(flushed).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch(TimeoutException ex) {
+            LOGGER.warning("Write buffers not flushed in time, closing with saves in flight.");
+        } catch(ExecutionException ex) {
+            LOGGER.log(Level.WARNING, "Could not flush write buffers", ex.getCause());
+        } catch(InterruptedException ex) {
+            LOGGER.warning("Interrupted while flushing write buffers, closing with saves in flight.");
+            // forces termination of the executor too
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+    
+    /**
+     * Returns the requests in flight to share or null if not coalescing requests.
+     */
+    private SingleFlight flights() {
+        return coalescingRequests ? flights : null;
+    }
+    
+    /**
+     * Returns the transport, creating the default {@link HttpAsyncClientTransport}, or
+     * {@link HttpURLConnectionTransport} without httpasyncclient, if no transport has been set.
+     */
+    private synchronized Transport transport() {
+        if(transport == null) {
+            transport = asyncClientAvailable() ? new HttpAsyncClientTransport(connectionPoolConfig)
+                    : new HttpURLConnectionTransport(connectionPoolConfig);
+            ownsTransport = true;
+        }
+        return transport;
+    }
+    
+    private static boolean asyncClientAvailable() {
+        try {
+            Class.forName("org.apache.http.impl.nio.client.HttpAsyncClients", false, Site.class.getClassLoader());
+            return true;
+        } catch(ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+    
+    private synchronized void closeTransport() {
+        if(transport != null && ownsTransport) {
+            try {
+                transport.close();
+            } catch(IOException ex) {
+                LOGGER.log(Level.WARNING, "Could not close transport", ex);
+            }
+            transport = null;
+        }
     }
     
     /**
@@ -390,31 +1358,7 @@ public class Site {
      * @see #login(io.oopsie.sdk.UserCredentials) 
      */
     public UserCredentials register(UserRequest userRequest) throws StatementExecutionException {
-        String regURI = String.join("", apiUri.toString(), "/users/register");
-        
-        HttpHeaders regHeaders = new HttpHeaders();
-        regHeaders.set("oopsie-customer-id", customerId.toString());
-        regHeaders.set("oopsie-site-id", siteId.toString());
-        
-        HttpEntity regEntity =  new HttpEntity(userRequest, regHeaders);
-        RestTemplate restTemplate = new RestTemplate();
-        ResponseEntity response = null;
-        try {
-            
-            response = restTemplate.exchange(
-                    regURI,
-                    HttpMethod.POST,
-                    regEntity,
-                    String.class);
-            
-        } catch(Exception ex) {
-            if(ex instanceof HttpClientErrorException) {
-                String body = ((HttpClientErrorException)ex).getResponseBodyAsString();
-                throw new StatementExecutionException(((HttpClientErrorException) ex).getMessage() + ", " + body);
-            } else {
-                throw new StatementExecutionException("Severe: " + ex.getMessage());
-            }
-        }
+        postUserRequest("/users/register", userRequest, null);
         return new UserCredentials(userRequest.getEmail(), userRequest.getPassword());
     }
     
@@ -427,37 +1371,7 @@ public class Site {
      * @throws StatementExecutionException if login failed.
      */
     public List<String> login(UserCredentials user) throws StatementExecutionException {
-        
-        String loginURI = String.join("",
-                apiUri.toString(),
-                "/users/login");
-        
-        HttpHeaders loginHeaders = new HttpHeaders();
-        loginHeaders.set("oopsie-customer-id", customerId.toString());
-        loginHeaders.set("oopsie-site-id", siteId.toString());
-        
-        HttpEntity loginEntity =  new HttpEntity(user, loginHeaders);
-        RestTemplate restTemplate = new RestTemplate();
-        ResponseEntity response = null;
-        try {
-            
-            response = restTemplate.exchange(
-                    loginURI,
-                    HttpMethod.POST,
-                    loginEntity,
-                    String.class);
-            
-        } catch(Exception ex) {
-            if(ex instanceof HttpClientErrorException) {
-                String body = ((HttpClientErrorException)ex).getResponseBodyAsString();
-                throw new StatementExecutionException(((HttpClientErrorException) ex).getMessage() + ", " + body);
-            } else {
-                throw new StatementExecutionException("Severe: " + ex.getMessage());
-            }
-        }
-        
-        List<String> cookies = response.getHeaders().get("Set-Cookie");
-        return cookies;
+        return postUserRequest("/users/login", user, null);
     }
     
     /**
@@ -468,34 +1382,7 @@ public class Site {
      * @throws StatementExecutionException if logout failed.
      */
     public void logout(List<String> cookies) throws StatementExecutionException {
-        String loginURI = String.join("",
-                apiUri.toString(),
-                "/users/logout");
-        
-        HttpHeaders logoutHeaders = new HttpHeaders();
-        logoutHeaders.set("oopsie-customer-id", customerId.toString());
-        logoutHeaders.set("oopsie-site-id", siteId.toString());
-        logoutHeaders.add("Cookie", cookies.get(0));
-        logoutHeaders.add("Cookie", cookies.get(1));
-        
-        HttpEntity logoutEntity =  new HttpEntity(null, logoutHeaders);
-        RestTemplate restTemplate = new RestTemplate();
-        try {
-            
-            restTemplate.exchange(
-                    loginURI,
-                    HttpMethod.POST,
-                    logoutEntity,
-                    String.class);
-            
-        } catch(Exception ex) {
-            if(ex instanceof HttpClientErrorException) {
-                String body = ((HttpClientErrorException)ex).getResponseBodyAsString();
-                throw new StatementExecutionException(((HttpClientErrorException) ex).getMessage() + ", " + body);
-            } else {
-                throw new StatementExecutionException("Severe: " + ex.getMessage());
-            }
-        }
+        postUserRequest("/users/logout", null, Arrays.asList(cookies.get(0), cookies.get(1)));
     }
     
     /**
@@ -506,36 +1393,39 @@ public class Site {
      * @throws StatementExecutionException thrown if execution failed
      */
     public List<String> refresh(List<String> cookies) throws StatementExecutionException {
-        String loginURI = String.join("",
-                apiUri.toString(),
-                "/users/refresh");
-        
-        HttpHeaders refreshHeaders = new HttpHeaders();
-        refreshHeaders.set("oopsie-customer-id", customerId.toString());
-        refreshHeaders.set("oopsie-site-id", siteId.toString());
-        refreshHeaders.add("Cookie", cookies.get(1));
-        
-        HttpEntity refreshEntity =  new HttpEntity(null, refreshHeaders);
-        RestTemplate restTemplate = new RestTemplate();
-        ResponseEntity response = null;
+        return postUserRequest("/users/refresh", null, Collections.singletonList(cookies.get(1)));
+    }
+    
+    /**
+     * Posts a user request and returns any cookies set by the response.
+     */
+    private List<String> postUserRequest(String path, Object requestBody, List<String> cookies)
+            throws StatementExecutionException {
+        
+        Map<String, List<String>> headers = Http.siteHeaders(customerId, siteId);
+        if(cookies != null) {
+            headers.put("Cookie", cookies);
+        }
+        
         try {
             
-            response = restTemplate.exchange(
-                    loginURI,
-                    HttpMethod.POST,
-                    refreshEntity,
-                    String.class);
+            byte[] body = null;
+            if(requestBody != null) {
+                body = Json.write(requestBody);
+                headers.put("Content-Type", Http.APPLICATION_JSON);
+            }
             
-        } catch(Exception ex) {
-            if(ex instanceof HttpClientErrorException) {
-                String body = ((HttpClientErrorException)ex).getResponseBodyAsString();
-                throw new StatementExecutionException(((HttpClientErrorException) ex).getMessage() + ", " + body);
-            } else {
-                throw new StatementExecutionException("Severe: " + ex.getMessage());
+            TransportRequest request = new TransportRequest(RequestMethod.POST,
+                    URI.create(apiUri + path), headers, body);
+            try (TransportResponse response = transport().exchange(request)) {
+                if(response.getStatusCode() >= 400) {
+                    throw Http.executionError(response);
+                }
+                return response.getHeader("Set-Cookie");
             }
+            
+        } catch(IOException ex) {
+            throw new StatementExecutionException("Severe: " + ex.getMessage());
         }
-        
-        List<String> refreshedCookies = response.getHeaders().get("Set-Cookie");
-        return refreshedCookies;
     }
 }
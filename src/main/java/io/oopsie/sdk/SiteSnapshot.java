@@ -0,0 +1,262 @@
+package io.oopsie.sdk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Internally used by SDK to store the body of a site's /init response in a local
+ * snapshot file, so a {@link Site} can be initialized without waiting for the
+ * init endpoint. The JSON tree is stored in a compact binary encoding: a table
+ * of all distinct strings followed by the tagged values, referring to strings by
+ * their index in the table. Snapshots are read memory-mapped.
+ */
+final class SiteSnapshot {
+
+    private static final int MAGIC = 0x4f4f5053; // "OOPS"
+    private static final byte VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte STRING = 6;
+    private static final byte LIST = 7;
+    private static final byte MAP = 8;
+
+    private SiteSnapshot() {
+    }
+
+    /**
+     * Returns the snapshot file of a site in passed in directory.
+     *
+     * @param directory the snapshot directory
+     * @param customerId the customer id
+     * @param siteId the site id
+     * @return the snapshot file
+     */
+    static Path file(Path directory, UUID customerId, UUID siteId) {
+        return directory.resolve("oopsie-" + customerId + "-" + siteId + ".snapshot");
+    }
+
+    /**
+     * Reads a snapshot file.
+     *
+     * @param file the snapshot file
+     * @return the init body or null if there is no snapshot file
+     * @throws IOException if not able to read the file or the file isn't a valid snapshot
+     */
+    static Map<String, Object> read(Path file) throws IOException {
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch(NoSuchFileException ex) {
+            return null;
+        }
+        try {
+            if(buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                throw new IOException("Not a site snapshot: " + file);
+            }
+            String[] strings = new String[readSize(buffer)];
+            for(int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[readSize(buffer)];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            Object body = readValue(buffer, strings);
+            if(!(body instanceof Map)) {
+                throw new IOException("Not a site snapshot: " + file);
+            }
+            return (Map<String, Object>)body;
+        } catch(BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new IOException("Corrupt site snapshot: " + file, ex);
+        }
+    }
+
+    /**
+     * Writes a snapshot file. The file is replaced atomically, so a concurrent
+     * reader never sees a partially written snapshot.
+     *
+     * @param file the snapshot file
+     * @param body the init body
+     * @throws IOException if not able to write the file or body holds unsupported values
+     */
+    static void write(Path file, Map<String, Object> body) throws IOException {
+
+        Map<String, Integer> stringIndex = new LinkedHashMap<>();
+        collectStrings(body, stringIndex);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        writeCount(out, stringIndex.size());
+        for(String string : stringIndex.keySet()) {
+            byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            writeCount(out, utf8.length);
+            out.write(utf8);
+        }
+        writeValue(out, body, stringIndex);
+        out.flush();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, bytes.toByteArray());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void collectStrings(Object value, Map<String, Integer> stringIndex) {
+
+        if(value instanceof String) {
+            stringIndex.putIfAbsent((String)value, stringIndex.size());
+        } else if(value instanceof List) {
+            ((List<Object>)value).forEach(v -> collectStrings(v, stringIndex));
+        } else if(value instanceof Map) {
+            ((Map<String, Object>)value).forEach((k, v) -> {
+                collectStrings(k, stringIndex);
+                collectStrings(v, stringIndex);
+            });
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value, Map<String, Integer> stringIndex)
+            throws IOException {
+
+        if(value == null) {
+            out.writeByte(NULL);
+        } else if(value instanceof Boolean) {
+            out.writeByte((Boolean)value ? TRUE : FALSE);
+        } else if(value instanceof Integer) {
+            out.writeByte(INT);
+            out.writeInt((Integer)value);
+        } else if(value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long)value);
+        } else if(value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double)value);
+        } else if(value instanceof String) {
+            out.writeByte(STRING);
+            writeCount(out, stringIndex.get((String)value));
+        } else if(value instanceof List) {
+            List<Object> list = (List)value;
+            out.writeByte(LIST);
+            writeCount(out, list.size());
+            for(Object element : list) {
+                writeValue(out, element, stringIndex);
+            }
+        } else if(value instanceof Map) {
+            Map<String, Object> map = (Map)value;
+            out.writeByte(MAP);
+            writeCount(out, map.size());
+            for(Map.Entry<String, Object> entry : map.entrySet()) {
+                writeCount(out, stringIndex.get(entry.getKey()));
+                writeValue(out, entry.getValue(), stringIndex);
+            }
+        } else {
+            throw new IOException("Can't snapshot value of type " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(ByteBuffer in, String[] strings) throws IOException {
+
+        byte tag = in.get();
+        switch(tag) {
+            case NULL:
+                return null;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case INT:
+                return in.getInt();
+            case LONG:
+                return in.getLong();
+            case DOUBLE:
+                return in.getDouble();
+            case STRING:
+                return strings[readCount(in)];
+            case LIST:
+                int size = readSize(in);
+                List<Object> list = new ArrayList<>(size);
+                for(int i = 0; i < size; i++) {
+                    list.add(readValue(in, strings));
+                }
+                return list;
+            case MAP:
+                int entries = readSize(in);
+                Map<String, Object> map = new LinkedHashMap<>(entries / 3 * 4 + 4);
+                for(int i = 0; i < entries; i++) {
+                    String key = strings[readCount(in)];
+                    map.put(key, readValue(in, strings));
+                }
+                return map;
+            default:
+                throw new IOException("Unknown snapshot value tag " + tag);
+        }
+    }
+
+    /**
+     * Counts and string indexes are written as unsigned varints, most are a single byte.
+     */
+    private static void writeCount(DataOutputStream out, int count) throws IOException {
+
+        while((count & ~0x7f) != 0) {
+            out.writeByte((count & 0x7f) | 0x80);
+            count >>>= 7;
+        }
+        out.writeByte(count);
+    }
+
+    private static int readCount(ByteBuffer in) throws IOException {
+
+        int count = 0;
+        for(int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            count |= (b & 0x7f) << shift;
+            if((b & 0x80) == 0) {
+                if(count < 0) {
+                    throw new IOException("Corrupt site snapshot count");
+                }
+                return count;
+            }
+        }
+        throw new IOException("Corrupt site snapshot count");
+    }
+
+    /**
+     * Reads the size of a string, list or map. Every byte, element or entry takes at least one
+     * byte, so a size larger than the bytes left is corrupt, and rejected before allocating.
+     */
+    private static int readSize(ByteBuffer in) throws IOException {
+
+        int size = readCount(in);
+        if(size > in.remaining()) {
+            throw new IOException("Corrupt site snapshot");
+        }
+        return size;
+    }
+}
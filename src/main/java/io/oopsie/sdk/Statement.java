@@ -4,25 +4,21 @@ import io.oopsie.sdk.error.AlreadyExecutedException;
 import io.oopsie.sdk.error.StatementExecutionException;
 import io.oopsie.sdk.error.NotExecutedException;
 import io.oopsie.sdk.error.StatementParamException;
+import io.oopsie.sdk.transport.RequestMethod;
+import io.oopsie.sdk.transport.Transport;
+import io.oopsie.sdk.transport.TransportRequest;
+import java.io.IOException;
 import java.net.URI;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * A Statement is the executional definition for a specific {@link Resource} 
@@ -40,7 +36,7 @@ public abstract class Statement<T extends Statement> {
     protected final Resource resource;
     private Set<String> statementParams;
     private String view;
-    private HttpMethod requestMethod;
+    private RequestMethod requestMethod;
 
     /**
      * Creates a new Statement for specified {@link Resource}.
@@ -95,16 +91,12 @@ public abstract class Statement<T extends Statement> {
         return (T)this;
     }
     
-    private void validateParamName(String name) throws StatementParamException {
+    final void validateParamName(String name) throws StatementParamException {
         
-        Set<String> allParams = new HashSet();
-        allParams.addAll(resource.getAttributeNames());
-        if(statementParams != null) {
-            allParams.addAll(statementParams);
-        }
-                
-        if(!allParams.contains(
-                name.substring(0, (name.contains("[") ? name.indexOf("[") : name.length())))) {
+        int bracket = name.indexOf('[');
+        String param = bracket < 0 ? name : name.substring(0, bracket);
+        if(!resource.getAttributeNames().contains(param)
+                && (statementParams == null || !statementParams.contains(param))) {
             throw new StatementParamException("Param '" + name + "' is not part of this resource."
                     + " Only use attributes of current resource and statement.");
         }
@@ -113,6 +105,14 @@ public abstract class Statement<T extends Statement> {
     protected void setView(String view) {
         this.view = view;
     }
+    
+    /**
+     * Internally used by SDK to get the name of the view this statement targets.
+     * @return view name or null
+     */
+    final String getView() {
+        return view;
+    }
 
     /**
      * Set any sub statement params that can be
@@ -187,11 +187,11 @@ public abstract class Statement<T extends Statement> {
         return resource;
     }
 
-    protected final HttpMethod getRequestMethod() {
+    protected final RequestMethod getRequestMethod() {
         return requestMethod;
     }
 
-    protected final void setRequestMethod(HttpMethod requestMethod) throws AlreadyExecutedException {
+    protected final void setRequestMethod(RequestMethod requestMethod) throws AlreadyExecutedException {
         
         if(isExecuted()) {
             throw new AlreadyExecutedException("Statement already executed.");
@@ -211,6 +211,15 @@ public abstract class Statement<T extends Statement> {
         this.requestBody = requestBody;
     }
 
+    /**
+     * Internally used by SDK to get the params sent in the request body, set by
+     * statements sending attributes in the body.
+     * @return the body params or null
+     */
+    Map<String, Object> getBodyParams() {
+        return null;
+    }
+
     protected final Map<String, Object> getQueryparams() {
         return queryparams;
     }
@@ -223,89 +232,130 @@ public abstract class Statement<T extends Statement> {
         this.queryparams = queryparams;
     }
     
-    protected ResultSet execute(URI requestBaseApiUri, UUID customerId, UUID siteId,
+    protected ResultSet execute(Transport transport, URI requestBaseApiUri, UUID customerId,
+            UUID siteId, String apiKey, List<String> cookies)
+            throws AlreadyExecutedException, StatementExecutionException {
+        
+        return execute(transport, null, requestBaseApiUri, customerId, siteId, apiKey, cookies);
+    }
+    
+    /**
+     * Executes this statement. A GET request identical to one already in flight in passed
+     * in {@link SingleFlight} shares that request's exchange instead of sending its own.
+     * The statement still gets its own {@link ResultSet}.
+     */
+    final ResultSet execute(Transport transport, SingleFlight flights, URI requestBaseApiUri,
+            UUID customerId, UUID siteId, String apiKey, List<String> cookies)
+            throws AlreadyExecutedException, StatementExecutionException {
+        
+        TransportRequest request = prepare(requestBaseApiUri, customerId, siteId, apiKey, cookies);
+        ResultDecoder decoded = Exchanges.exchange(transport, flights, request, resource);
+        return complete(decoded.getColumns(), decoded.getRows(), decoded.getPageState());
+    }
+    
+    /**
+     * Executes this statement asynchronously. The request is prepared in the calling
+     * thread, so any {@link AlreadyExecutedException} is thrown directly. The response
+     * is read and the {@link ResultSet} produced on passed in executor.
+     */
+    final CompletableFuture<ResultSet> executeAsync(Transport transport, Executor executor,
+            URI requestBaseApiUri, UUID customerId, UUID siteId, String apiKey, List<String> cookies)
+            throws AlreadyExecutedException, StatementExecutionException {
+        
+        return executeAsync(transport, executor, null, requestBaseApiUri, customerId, siteId,
+                apiKey, cookies);
+    }
+    
+    /**
+     * Executes this statement asynchronously, sharing the exchange of an identical
+     * GET request already in flight in passed in {@link SingleFlight}.
+     */
+    final CompletableFuture<ResultSet> executeAsync(Transport transport, Executor executor,
+            SingleFlight flights, URI requestBaseApiUri, UUID customerId, UUID siteId,
             String apiKey, List<String> cookies)
             throws AlreadyExecutedException, StatementExecutionException {
         
+        TransportRequest request = prepare(requestBaseApiUri, customerId, siteId, apiKey, cookies);
+        CompletableFuture<ResultDecoder> decoding = Exchanges.exchangeAsync(transport, executor,
+                flights, request, resource);
+        return decoding.thenApply(decoded -> complete(decoded.getColumns(), decoded.getRows(),
+                decoded.getPageState()));
+    }
+    
+    /**
+     * Builds the request to send for this statement.
+     * 
+     * @throws AlreadyExecutedException if executed
+     */
+    protected TransportRequest prepare(URI requestBaseApiUri, UUID customerId,
+            UUID siteId, String apiKey, List<String> cookies)
+            throws AlreadyExecutedException, StatementExecutionException {
+        
         if(isExecuted()) {
             throw new AlreadyExecutedException("Statement already executed.");
         }
         
-        String viewPart = "";
+        StringBuilder uri = new StringBuilder(requestBaseApiUri.toString())
+                .append("/resources/")
+                .append(resource.getResourceId().toString());
         if(resource.getViewNames().contains(view)) {
-            viewPart = "/views/" + view;
+            uri.append("/views/");
+            Http.encode(uri, view, false);
         }
-        String baseURI = String.join("",
-                requestBaseApiUri.toString(),
-                "/resources/",
-                resource.getResourceId().toString(),
-                viewPart
-                );
         
-        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromHttpUrl(baseURI);
         if(queryparams != null && !queryparams.isEmpty()) {
             queryparams.forEach((k,v) -> {
                 Object val = v;
                 if(val instanceof Date) {
                     val = ((Date)val).toInstant();
                 }
-                uriBuilder.queryParam(k, val);
+                Http.appendQueryParam(uri, k, val);
             });
         }
-        URI requestUri = uriBuilder.build().encode().toUri();        
+        URI requestUri = URI.create(uri.toString());
         
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("oopsie-customer-id", customerId.toString());
-        headers.set("oopsie-site-id", siteId.toString());
-        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        Map<String, List<String>> headers = Http.siteHeaders(customerId, siteId);
+        headers.put("Accept", Http.APPLICATION_JSON);
         
         // Prioritize user cookies API is looking at API KEY first.
         // If this SDK is used with user login then we want user auth to be used.
         if(cookies != null) {
-            headers.add("Cookie", cookies.get(0));
-            headers.add("Cookie", cookies.get(1));
+            headers.put("Cookie", Arrays.asList(cookies.get(0), cookies.get(1)));
         } else {
-            headers.set("Authorization", apiKey);
+            headers.put("Authorization", Collections.singletonList(apiKey));
         }
-        HttpEntity httpEntity =  new HttpEntity(requestBody, headers);
-        
-        RestTemplate restTemplate = new RestTemplate();
-        ResponseEntity response = null;
         
-        try {
-            
-            response = restTemplate.exchange(
-                    requestUri,
-                    requestMethod,
-                    httpEntity,
-                    Map.class);
-            
-            
-        } catch(Exception ex) {
-            if(ex instanceof HttpClientErrorException) {
-                String body = ((HttpClientErrorException)ex).getResponseBodyAsString();
-                throw new StatementExecutionException(((HttpClientErrorException) ex).getMessage() + ", " + body);
-            } else if(ex instanceof HttpServerErrorException) {
-                String body = ((HttpServerErrorException)ex).getResponseBodyAsString();
-                throw new StatementExecutionException(((HttpServerErrorException) ex).getMessage() + ", " + body);
-            } else {
+        byte[] body = null;
+        if(requestBody != null) {
+            try {
+                body = Json.write(requestBody);
+            } catch(IOException ex) {
                 throw new StatementExecutionException("Severe: " + ex.getMessage());
             }
+            headers.put("Content-Type", Http.APPLICATION_JSON);
         }
+        return new TransportRequest(requestMethod, requestUri, headers, body);
+    }
+    
+    /**
+     * Internally used by SDK to complete this statement with decoded rows. The rows
+     * might be shared with other statements, e.g. rows served from an {@link EntityCache}
+     * or read from an exchange shared by {@link SingleFlight}.
+     * 
+     * @param columns the column index of the rows
+     * @param rows the rows
+     * @param pageState the page state or null
+     * @return the {@link ResultSet}
+     * @throws AlreadyExecutedException if executed
+     */
+    final ResultSet complete(ColumnIndex columns, List<Row> rows, String pageState)
+            throws AlreadyExecutedException {
         
-        Map<String, Object> responseBody = (Map)response.getBody();
-        if(getRequestMethod().equals(HttpMethod.GET)) {
-            List entities = (List)responseBody.get("entities");
-            this.result = new ResultSet(this, true, entities);
-        } else {
-            List data = new ArrayList();
-            data.add(responseBody);
-            this.result = new ResultSet(this, true, data);
-        }
-        if(responseBody != null && responseBody.get("metadata") != null) {
-            Map<String, Object> metaData = (Map)responseBody.get("metadata");
-            pageState = metaData.get("pageState") != null ? metaData.get("pageState").toString() : null;
+        if(isExecuted()) {
+            throw new AlreadyExecutedException("Statement already executed.");
         }
+        this.result = new ResultSet(this, true, columns, rows, pageState);
+        this.pageState = pageState;
         executed = true;
         return result;
     }
@@ -0,0 +1,162 @@
+package io.oopsie.sdk;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Internally used by SDK to parse timestamps and UUIDs straight from the
+ * characters of a JSON string without creating an intermediate String.
+ * Timestamps in the format sent by the API, e.g. 2018-08-23T10:15:30.123Z,
+ * and UUIDs in their canonical 36 character form are parsed by hand, anything
+ * else falls back to {@link Instant#parse(java.lang.CharSequence) } and
+ * {@link UUID#fromString(java.lang.String) }.
+ */
+final class ValueParsers {
+
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private ValueParsers() {
+    }
+
+    /**
+     * Parses an ISO-8601 timestamp, i.e. yyyy-MM-ddTHH:mm:ss[.fraction] followed
+     * by Z or an offset as +HH:mm.
+     *
+     * @param chars the characters holding the timestamp
+     * @param off start offset
+     * @param len number of characters
+     * @return the instant
+     * @throws java.time.DateTimeException if not a valid timestamp
+     */
+    static Instant parseInstant(char[] chars, int off, int len) {
+
+        int end = off + len;
+        if(len < 20 || chars[off + 4] != '-' || chars[off + 7] != '-'
+                || (chars[off + 10] != 'T' && chars[off + 10] != 't')
+                || chars[off + 13] != ':' || chars[off + 16] != ':') {
+            return fallbackInstant(chars, off, len);
+        }
+        int year = digits(chars, off, 4);
+        int month = digits(chars, off + 5, 2);
+        int day = digits(chars, off + 8, 2);
+        int hour = digits(chars, off + 11, 2);
+        int minute = digits(chars, off + 14, 2);
+        int second = digits(chars, off + 17, 2);
+        if(year < 1 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return fallbackInstant(chars, off, len);
+        }
+
+        int pos = off + 19;
+        int nanos = 0;
+        if(chars[pos] == '.') {
+            pos++;
+            int scale = 100_000_000;
+            int start = pos;
+            while(pos < end && chars[pos] >= '0' && chars[pos] <= '9') {
+                if(scale == 0) {
+                    return fallbackInstant(chars, off, len);
+                }
+                nanos += (chars[pos] - '0') * scale;
+                scale /= 10;
+                pos++;
+            }
+            if(pos == start) {
+                return fallbackInstant(chars, off, len);
+            }
+        }
+
+        int offsetSeconds;
+        if(pos == end - 1 && (chars[pos] == 'Z' || chars[pos] == 'z')) {
+            offsetSeconds = 0;
+        } else if(pos == end - 6 && (chars[pos] == '+' || chars[pos] == '-') && chars[pos + 3] == ':') {
+            int offsetHours = digits(chars, pos + 1, 2);
+            int offsetMinutes = digits(chars, pos + 4, 2);
+            if(offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59) {
+                return fallbackInstant(chars, off, len);
+            }
+            offsetSeconds = (offsetHours * 3600 + offsetMinutes * 60) * (chars[pos] == '-' ? -1 : 1);
+        } else {
+            return fallbackInstant(chars, off, len);
+        }
+
+        long epochSecond = epochDay(year, month, day) * 86400
+                + hour * 3600 + minute * 60 + second - offsetSeconds;
+        return Instant.ofEpochSecond(epochSecond, nanos);
+    }
+
+    /**
+     * Parses a UUID in its canonical form, i.e. 8-4-4-4-12 hex digits.
+     *
+     * @param chars the characters holding the UUID
+     * @param off start offset
+     * @param len number of characters
+     * @return the UUID
+     * @throws IllegalArgumentException if not a valid UUID
+     */
+    static UUID parseUUID(char[] chars, int off, int len) {
+
+        if(len != 36 || chars[off + 8] != '-' || chars[off + 13] != '-'
+                || chars[off + 18] != '-' || chars[off + 23] != '-') {
+            return UUID.fromString(new String(chars, off, len));
+        }
+        long msb = 0;
+        long lsb = 0;
+        for(int i = 0; i < 36; i++) {
+            if(i == 8 || i == 13 || i == 18 || i == 23) {
+                continue;
+            }
+            int hex = Character.digit(chars[off + i], 16);
+            if(hex < 0) {
+                return UUID.fromString(new String(chars, off, len));
+            }
+            if(i < 19) {
+                msb = (msb << 4) | hex;
+            } else {
+                lsb = (lsb << 4) | hex;
+            }
+        }
+        return new UUID(msb, lsb);
+    }
+
+    private static Instant fallbackInstant(char[] chars, int off, int len) {
+        return Instant.parse(new String(chars, off, len));
+    }
+
+    /**
+     * Returns the value of count decimal digits or -1 if any char isn't a digit.
+     */
+    private static int digits(char[] chars, int off, int count) {
+
+        int value = 0;
+        for(int i = off; i < off + count; i++) {
+            char c = chars[i];
+            if(c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return month == 2 && isLeapYear(year) ? 29 : DAYS_IN_MONTH[month - 1];
+    }
+
+    /**
+     * Days since 1970-01-01 of a proleptic Gregorian date.
+     */
+    private static long epochDay(int year, int month, int day) {
+
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+}
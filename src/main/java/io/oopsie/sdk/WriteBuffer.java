@@ -0,0 +1,276 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementExecutionException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A write-behind buffer of {@link SaveStatement}s, created by calling
+ * {@link Site#createWriteBuffer(int, long, java.util.concurrent.TimeUnit) }. Saves are held
+ * by the entity they write, i.e. by {@link Resource} and primary key, and a save of an entity
+ * already pending is merged into the pending save, later values replacing earlier ones. Pending
+ * saves are flushed when the buffer holds maxPending entities, when the oldest pending save is
+ * maxAge old or when calling {@link #flush() }.
+ * <p>
+ * Saves of the same entity are executed in the order flushed, a flushed save waits for the
+ * previous save of the same entity to complete. At most as many saves as the site's max
+ * connections per route are in flight at once, however many flushes overlap, further flushed
+ * saves are queued. Saves are executed with the {@link Site}'s api key. A save is only sent
+ * once flushed and is lost if the process dies before.
+ *
+ * <pre>
+ * WriteBuffer buffer = site.createWriteBuffer(1000, 200, TimeUnit.MILLISECONDS);
+ * buffer.save(counterRes.save().withParam("id", id).withParam("count", count));
+ * </pre>
+ */
+public class WriteBuffer {
+
+    private final Site site;
+    private final int maxPending;
+    private final long maxAgeMillis;
+    private final int concurrency;
+
+    private final Object lock = new Object();
+    private Map<EntityCache.Key, Pending> pending = new LinkedHashMap<>();
+    private final Map<EntityCache.Key, CompletableFuture<ResultSet>> tails = new ConcurrentHashMap<>();
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+    private boolean flushScheduled;
+    private boolean closed;
+
+    /**
+     * Used internally to create a write buffer.
+     *
+     * @param site the site to execute saves through
+     * @param maxPending number of pending entities to flush at
+     * @param maxAge the age of the oldest pending save to flush at
+     * @param unit unit of maxAge
+     * @param concurrency maximum number of saves in flight at once, across all flushes
+     */
+    WriteBuffer(Site site, int maxPending, long maxAge, TimeUnit unit, int concurrency) {
+
+        if(maxPending < 1) {
+            throw new IllegalArgumentException("Max pending must be at least 1");
+        }
+        if(concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+        this.site = site;
+        this.maxPending = maxPending;
+        this.maxAgeMillis = unit.toMillis(maxAge);
+        this.concurrency = concurrency;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "oopsie-write-buffer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Buffers passed in save. If the entity already has a pending save, the params of passed in
+     * statement are merged into it and the returned future is the pending save's future. A save
+     * without values for all primary key attributes can't be merged and is executed right away.
+     *
+     * @param statement the save
+     * @return A {@link CompletableFuture} of the result of the save, or of the merged save
+     * @throws StatementExecutionException if the buffer is closed
+     */
+    public CompletableFuture<ResultSet> save(SaveStatement statement) throws StatementExecutionException {
+
+        Resource resource = statement.getResource();
+        EntityCache.Key key = EntityCache.entityKey(resource, statement.getBodyParams(),
+                statement.getQueryparams());
+        if(key == null) {
+            synchronized(lock) {
+                if(closed) {
+                    throw new StatementExecutionException("Write buffer closed.");
+                }
+            }
+            return site.executeAsync(statement);
+        }
+
+        Pending entry;
+        boolean full;
+        synchronized(lock) {
+            if(closed) {
+                throw new StatementExecutionException("Write buffer closed.");
+            }
+            entry = pending.computeIfAbsent(key, k -> new Pending(k, resource));
+            entry.merge(statement);
+            full = pending.size() >= maxPending;
+            if(!full && !flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flush, maxAgeMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if(full) {
+            flush();
+        }
+        return entry.done;
+    }
+
+    /**
+     * Flushes all pending saves.
+     *
+     * @return A {@link CompletableFuture} completing when all flushed saves are done,
+     * whether successful or not
+     */
+    public CompletableFuture<Void> flush() {
+
+        List<Pending> flushed;
+        synchronized(lock) {
+            flushScheduled = false;
+            if(pending.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            flushed = new ArrayList<>(pending.values());
+            pending = new LinkedHashMap<>();
+            // chain each save after the previous save of the same entity, queued in the same
+            // order so a save never waits for one queued after it
+            for(Pending entry : flushed) {
+                entry.previous = tails.put(entry.key, entry.done);
+                entry.done.whenComplete((result, error) -> tails.remove(entry.key, entry.done));
+                queue.add(entry);
+            }
+        }
+        drain();
+        return CompletableFuture.allOf(flushed.stream()
+                .map(entry -> entry.done.handle((result, error) -> null))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Starts queued saves while fewer than concurrency saves are in flight. Saves completing
+     * right away are counted off in the loop rather than from completion callbacks to not grow
+     * the stack.
+     */
+    private void drain() {
+
+        while(true) {
+            int inFlight = running.get();
+            if(inFlight >= concurrency || queue.isEmpty()) {
+                return;
+            }
+            if(!running.compareAndSet(inFlight, inFlight + 1)) {
+                continue;
+            }
+            Pending entry = queue.poll();
+            if(entry == null) {
+                // taken by another thread, loop to check for saves queued meanwhile
+                running.decrementAndGet();
+                continue;
+            }
+            CompletableFuture<ResultSet> done = entry.execute();
+            if(done.isDone()) {
+                running.decrementAndGet();
+            } else {
+                done.whenComplete((result, error) -> {
+                    running.decrementAndGet();
+                    drain();
+                });
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entities with a pending save.
+     * @return number of pending entities
+     */
+    public int size() {
+        synchronized(lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Flushes all pending saves and closes this buffer. Saves can't be buffered once closed.
+     *
+     * @return A {@link CompletableFuture} completing when all flushed saves are done
+     */
+    public CompletableFuture<Void> close() {
+
+        synchronized(lock) {
+            closed = true;
+        }
+        scheduler.shutdown();
+        return flush();
+    }
+
+    /**
+     * Internally used by SDK to close this buffer without flushing. Pending saves, and flushed
+     * saves not yet started, fail.
+     */
+    void discard() {
+
+        List<Pending> discarded;
+        synchronized(lock) {
+            closed = true;
+            discarded = new ArrayList<>(pending.values());
+            pending = new LinkedHashMap<>();
+        }
+        for(Pending entry = queue.poll(); entry != null; entry = queue.poll()) {
+            discarded.add(entry);
+        }
+        scheduler.shutdownNow();
+        discarded.forEach(entry -> entry.done.completeExceptionally(
+                new StatementExecutionException("Write buffer closed before save was flushed.")));
+    }
+
+    /**
+     * A pending save of one entity.
+     */
+    private final class Pending {
+
+        private final EntityCache.Key key;
+        private final Resource resource;
+        private final Map<String, Object> params = new HashMap<>();
+        private final CompletableFuture<ResultSet> done = new CompletableFuture<>();
+        private CompletableFuture<ResultSet> previous;
+
+        private Pending(EntityCache.Key key, Resource resource) {
+            this.key = key;
+            this.resource = resource;
+        }
+
+        private void merge(SaveStatement statement) {
+            if(statement.getQueryparams() != null) {
+                params.putAll(statement.getQueryparams());
+            }
+            if(statement.getBodyParams() != null) {
+                params.putAll(statement.getBodyParams());
+            }
+        }
+
+        /**
+         * Executes the merged save once the previous save of the entity is done.
+         */
+        private CompletableFuture<ResultSet> execute() {
+
+            CompletableFuture<?> after = previous != null
+                    ? previous.handle((result, error) -> null) : CompletableFuture.completedFuture(null);
+            after.thenCompose(ready -> site.executeAsync(resource.save().withParams(params)))
+                    .whenComplete((result, error) -> {
+                        if(error != null) {
+                            done.completeExceptionally(error instanceof CompletionException
+                                    && error.getCause() != null ? error.getCause() : error);
+                        } else {
+                            done.complete(result);
+                        }
+                    });
+            return done;
+        }
+    }
+}
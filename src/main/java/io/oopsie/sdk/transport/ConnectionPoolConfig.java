@@ -0,0 +1,123 @@
+package io.oopsie.sdk.transport;
+
+import io.oopsie.sdk.Site;
+
+/**
+ * Connection pool settings for the {@link Transport} a {@link Site} creates
+ * when calling {@link Site#init()}. All statement and user auth calls made
+ * through the {@link Site} share the pooled connections. How each setting is
+ * honored is up to the {@link Transport} implementation.
+ *
+ * @see HttpURLConnectionTransport
+ * @see HttpAsyncClientTransport
+ * @see RestTemplateTransport
+ */
+public class ConnectionPoolConfig {
+
+    private int maxTotal = 200;
+    private int maxPerRoute = 50;
+    private long idleTimeoutMillis = 30000;
+    private long keepAliveMillis = 30000;
+
+    /**
+     * Creates a new {@link ConnectionPoolConfig} with default settings, i.e.
+     * 200 connections in total, 50 per route, idle connections evicted after 30 seconds
+     * and connections kept alive 30 seconds unless the server says otherwise.
+     */
+    public ConnectionPoolConfig() {
+    }
+
+    /**
+     * Creates a new {@link ConnectionPoolConfig}.
+     *
+     * @param maxTotal max number of pooled connections
+     * @param maxPerRoute max number of pooled connections per route
+     * @param idleTimeoutMillis time in millis before an idle connection is evicted
+     * @param keepAliveMillis time in millis to keep a connection alive if the
+     * server doesn't send a keep-alive header
+     */
+    public ConnectionPoolConfig(int maxTotal, int maxPerRoute, long idleTimeoutMillis, long keepAliveMillis) {
+        setMaxTotal(maxTotal);
+        setMaxPerRoute(maxPerRoute);
+        setIdleTimeoutMillis(idleTimeoutMillis);
+        setKeepAliveMillis(keepAliveMillis);
+    }
+
+    /**
+     * Returns max number of pooled connections.
+     * @return max total
+     */
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * Sets max number of pooled connections.
+     * @param maxTotal max total, must be greater than 0
+     */
+    public void setMaxTotal(int maxTotal) {
+        if(maxTotal < 1) {
+            throw new IllegalArgumentException("maxTotal must be greater than 0");
+        }
+        this.maxTotal = maxTotal;
+    }
+
+    /**
+     * Returns max number of pooled connections per route.
+     * @return max per route
+     */
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    /**
+     * Sets max number of pooled connections per route.
+     * @param maxPerRoute max per route, must be greater than 0
+     */
+    public void setMaxPerRoute(int maxPerRoute) {
+        if(maxPerRoute < 1) {
+            throw new IllegalArgumentException("maxPerRoute must be greater than 0");
+        }
+        this.maxPerRoute = maxPerRoute;
+    }
+
+    /**
+     * Returns the time in millis before an idle connection is evicted from the pool.
+     * @return idle timeout
+     */
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /**
+     * Sets the time in millis before an idle connection is evicted from the pool.
+     * @param idleTimeoutMillis idle timeout, must be greater than 0
+     */
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        if(idleTimeoutMillis < 1) {
+            throw new IllegalArgumentException("idleTimeoutMillis must be greater than 0");
+        }
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Returns the time in millis a connection is kept alive when the server
+     * doesn't send a keep-alive header.
+     * @return keep alive
+     */
+    public long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    /**
+     * Sets the time in millis a connection is kept alive when the server
+     * doesn't send a keep-alive header.
+     * @param keepAliveMillis keep alive, must be greater than 0
+     */
+    public void setKeepAliveMillis(long keepAliveMillis) {
+        if(keepAliveMillis < 1) {
+            throw new IllegalArgumentException("keepAliveMillis must be greater than 0");
+        }
+        this.keepAliveMillis = keepAliveMillis;
+    }
+}
@@ -0,0 +1,158 @@
+package io.oopsie.sdk.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+
+/**
+ * A non-blocking {@link Transport} built on Apache HttpAsyncClient. Requests are
+ * multiplexed over a few I/O reactor threads so in-flight requests don't pin a thread
+ * each. Requires httpasyncclient on the classpath, an optional dependency of the SDK.
+ */
+public class HttpAsyncClientTransport implements Transport {
+    
+    private final CloseableHttpAsyncClient httpClient;
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * Creates a new {@link HttpAsyncClientTransport} with default pool settings.
+     */
+    public HttpAsyncClientTransport() {
+        this(new ConnectionPoolConfig());
+    }
+    
+    /**
+     * Creates and starts a new {@link HttpAsyncClientTransport}.
+     * @param config the connection pool settings
+     */
+    public HttpAsyncClientTransport(ConnectionPoolConfig config) {
+        
+        PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(IOReactorConfig.DEFAULT));
+        } catch(IOReactorException ex) {
+            throw new IllegalStateException("Could not create I/O reactor: " + ex.getMessage(), ex);
+        }
+        connectionManager.setMaxTotal(config.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(config.getMaxPerRoute());
+        
+        long keepAlive = config.getKeepAliveMillis();
+        this.httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> {
+                    // use server keep-alive header if sent, else fall back on configured
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? serverKeepAlive : keepAlive;
+                })
+                .build();
+        this.httpClient.start();
+        
+        // the async client has no built in idle eviction
+        long idleTimeout = config.getIdleTimeoutMillis();
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "oopsie-connection-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+        }, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public TransportResponse exchange(TransportRequest request) throws IOException {
+        try {
+            return exchangeAsync(request, null).get();
+        } catch(InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for response", ex);
+        } catch(ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            throw cause instanceof IOException ? (IOException)cause : new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> exchangeAsync(TransportRequest request, Executor executor) {
+        
+        RequestBuilder builder = RequestBuilder.create(request.getMethod().name())
+                .setUri(request.getUri());
+        request.getHeaders().forEach((name, values) -> {
+            values.forEach(value -> builder.addHeader(name, value));
+        });
+        if(request.getBody() != null) {
+            builder.setEntity(new ByteArrayEntity(request.getBody()));
+        }
+        HttpUriRequest httpRequest = builder.build();
+        
+        CompletableFuture<TransportResponse> future = new CompletableFuture<>();
+        httpClient.execute(httpRequest, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                try {
+                    future.complete(toTransportResponse(response));
+                } catch(IOException ex) {
+                    future.completeExceptionally(ex);
+                }
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                future.completeExceptionally(ex instanceof IOException ? ex : new IOException(ex.getMessage(), ex));
+            }
+
+            @Override
+            public void cancelled() {
+                future.completeExceptionally(new IOException("Request cancelled"));
+            }
+        });
+        return future;
+    }
+    
+    private static TransportResponse toTransportResponse(HttpResponse response) throws IOException {
+        
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for(Header header : response.getAllHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+        HttpEntity entity = response.getEntity();
+        InputStream body = entity != null ? entity.getContent() : null;
+        return new TransportResponse(
+                response.getStatusLine().getStatusCode(),
+                response.getStatusLine().getReasonPhrase(),
+                headers,
+                body);
+    }
+
+    @Override
+    public void close() throws IOException {
+        evictor.shutdownNow();
+        httpClient.close();
+    }
+}
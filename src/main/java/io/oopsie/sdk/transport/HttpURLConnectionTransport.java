@@ -0,0 +1,210 @@
+package io.oopsie.sdk.transport;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A {@link Transport} built on {@link HttpURLConnection} only, used by a {@link io.oopsie.sdk.Site}
+ * when httpasyncclient isn't on the classpath. Connections are reused through the JVM wide
+ * keep-alive cache. The {@link ConnectionPoolConfig} settings are honored as follows:
+ * <ul>
+ * <li>max total and max per route limit the number of concurrent exchanges, in total and per
+ * destination.</li>
+ * <li>keep alive and idle timeout aren't honored, idle connections are kept by the JVM wide
+ * keep-alive cache.</li>
+ * </ul>
+ * The keep-alive cache is configured JVM wide by the "http.maxConnections" system property, the
+ * number of idle connections kept per destination (JDK default is 5), and on JDKs supporting it
+ * the "http.keepAlive.time.server" system property, the seconds idle connections are kept.
+ * This transport leaves them to the application, set them before the first HTTP connection of
+ * the JVM, e.g. http.maxConnections to max per route. Use {@link HttpAsyncClientTransport}
+ * for a pool honoring all settings.
+ */
+public class HttpURLConnectionTransport implements Transport {
+    
+    /**
+     * Bytes read from an unconsumed response body to keep its connection reusable, a
+     * connection with more left is disconnected instead.
+     */
+    private static final int MAX_DRAIN_BYTES = 64 * 1024;
+    
+    private final Semaphore totalPermits;
+    private final int maxPerRoute;
+    private final Map<String, Semaphore> routePermits = new ConcurrentHashMap<>();
+    private final Set<HttpURLConnection> connections = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Creates a new {@link HttpURLConnectionTransport} with default pool settings.
+     */
+    public HttpURLConnectionTransport() {
+        this(new ConnectionPoolConfig());
+    }
+    
+    /**
+     * Creates a new {@link HttpURLConnectionTransport}.
+     * @param config the connection pool settings
+     */
+    public HttpURLConnectionTransport(ConnectionPoolConfig config) {
+        this.totalPermits = new Semaphore(config.getMaxTotal(), true);
+        this.maxPerRoute = config.getMaxPerRoute();
+    }
+
+    @Override
+    public TransportResponse exchange(TransportRequest request) throws IOException {
+        
+        if(closed) {
+            throw new IOException("Transport closed");
+        }
+        URI uri = request.getUri();
+        Semaphore routePermit = routePermits.computeIfAbsent(
+                String.join(":", uri.getScheme(), uri.getHost(), String.valueOf(uri.getPort())),
+                route -> new Semaphore(maxPerRoute, true));
+        try {
+            totalPermits.acquire();
+        } catch(InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a connection", ex);
+        }
+        try {
+            routePermit.acquire();
+        } catch(InterruptedException ex) {
+            totalPermits.release();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a connection", ex);
+        }
+        
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection)uri.toURL().openConnection();
+            connections.add(connection);
+            connection.setRequestMethod(request.getMethod().name());
+            connection.setInstanceFollowRedirects(request.getMethod() == RequestMethod.GET);
+            for(Map.Entry<String, List<String>> header : request.getHeaders().entrySet()) {
+                for(String value : header.getValue()) {
+                    connection.addRequestProperty(header.getKey(), value);
+                }
+            }
+            
+            byte[] body = request.getBody();
+            if(body != null) {
+                connection.setDoOutput(true);
+                connection.setFixedLengthStreamingMode(body.length);
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body);
+                }
+            }
+            
+            int status = connection.getResponseCode();
+            InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            Map<String, List<String>> headers = connection.getHeaderFields();
+            return new TransportResponse(status, connection.getResponseMessage(), headers,
+                    new PermitReleasingInputStream(in, connection, routePermit));
+            
+        } catch(IOException | RuntimeException ex) {
+            if(connection != null) {
+                connections.remove(connection);
+                connection.disconnect();
+            }
+            routePermit.release();
+            totalPermits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Closes this transport, disconnecting connections of exchanges still in progress. Idle
+     * connections are held by the JVM wide keep-alive cache and closed by it once kept alive.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        connections.forEach(HttpURLConnection::disconnect);
+        connections.clear();
+    }
+    
+    /**
+     * Returns the permits when the response body is closed. Closing the body
+     * stream drains what's left of it and hands the connection back to the keep-alive
+     * cache, or disconnects it if too much is left.
+     */
+    private class PermitReleasingInputStream extends FilterInputStream {
+        
+        private final HttpURLConnection connection;
+        private final Semaphore routePermit;
+        private boolean closed;
+
+        private PermitReleasingInputStream(InputStream in, HttpURLConnection connection, Semaphore routePermit) {
+            super(in);
+            this.connection = connection;
+            this.routePermit = routePermit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return in != null ? super.read() : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return in != null ? super.read(b, off, len) : -1;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return in != null ? super.available() : 0;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if(closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if(in != null) {
+                    if(drain()) {
+                        in.close();
+                    } else {
+                        connection.disconnect();
+                    }
+                }
+            } finally {
+                connections.remove(connection);
+                routePermit.release();
+                totalPermits.release();
+            }
+        }
+        
+        /**
+         * Reads what's left of the body, at most {@link #MAX_DRAIN_BYTES}.
+         * 
+         * @return true if the whole body was read
+         */
+        private boolean drain() {
+            byte[] buffer = new byte[8192];
+            int drained = 0;
+            try {
+                int read;
+                while((read = in.read(buffer)) != -1) {
+                    drained += read;
+                    if(drained > MAX_DRAIN_BYTES) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch(IOException ex) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package io.oopsie.sdk.transport;
+
+/**
+ * The HTTP methods used by the SDK.
+ */
+public enum RequestMethod {
+    
+    GET,
+    POST,
+    PUT,
+    DELETE
+    
+}
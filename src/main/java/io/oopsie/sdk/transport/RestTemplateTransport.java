@@ -0,0 +1,120 @@
+package io.oopsie.sdk.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * A Spring {@link RestTemplate} based {@link Transport}. Requires spring-web and,
+ * when created from a {@link ConnectionPoolConfig}, Apache HttpClient on the classpath.
+ * Both are optional dependencies of the SDK.
+ */
+public class RestTemplateTransport implements Transport {
+    
+    private final RestTemplate restTemplate;
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * Creates a new {@link RestTemplateTransport} backed by a pooled, keep-alive
+     * Apache HttpClient configured by passed in {@link ConnectionPoolConfig}.
+     * 
+     * @param config the connection pool settings
+     */
+    public RestTemplateTransport(ConnectionPoolConfig config) {
+        
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(config.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(config.getMaxPerRoute());
+
+        long keepAlive = config.getKeepAliveMillis();
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> {
+                    // use server keep-alive header if sent, else fall back on configured
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? serverKeepAlive : keepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(config.getIdleTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        this.restTemplate = createRestTemplate(new RestTemplate(
+                new HttpComponentsClientHttpRequestFactory(httpClient)));
+    }
+    
+    /**
+     * Creates a new {@link RestTemplateTransport} using passed in {@link RestTemplate}.
+     * Note, the error handler of the passed in {@link RestTemplate} is replaced and
+     * the {@link RestTemplate} is not closed when this transport is closed.
+     * 
+     * @param restTemplate the rest template to use
+     */
+    public RestTemplateTransport(RestTemplate restTemplate) {
+        this.restTemplate = createRestTemplate(restTemplate);
+        this.httpClient = null;
+    }
+    
+    private static RestTemplate createRestTemplate(RestTemplate restTemplate) {
+        
+        // error status codes are handled by the SDK, not thrown
+        restTemplate.setErrorHandler(new ResponseErrorHandler() {
+            @Override
+            public boolean hasError(ClientHttpResponse response) throws IOException {
+                return false;
+            }
+
+            @Override
+            public void handleError(ClientHttpResponse response) throws IOException {
+            }
+        });
+        return restTemplate;
+    }
+
+    @Override
+    public TransportResponse exchange(TransportRequest request) throws IOException {
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        HttpEntity<byte[]> entity = new HttpEntity<>(request.getBody(), headers);
+        
+        ResponseEntity<byte[]> response;
+        try {
+            response = restTemplate.exchange(
+                    request.getUri(),
+                    HttpMethod.valueOf(request.getMethod().name()),
+                    entity,
+                    byte[].class);
+        } catch(RestClientException ex) {
+            throw new IOException(ex.getMessage(), ex);
+        }
+        
+        byte[] body = response.getBody();
+        HttpStatus status = HttpStatus.resolve(response.getStatusCodeValue());
+        return new TransportResponse(
+                response.getStatusCodeValue(),
+                status != null ? status.getReasonPhrase() : null,
+                response.getHeaders(),
+                body != null ? new ByteArrayInputStream(body) : null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(httpClient != null) {
+            httpClient.close();
+        }
+    }
+}
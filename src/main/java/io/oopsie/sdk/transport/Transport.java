@@ -0,0 +1,56 @@
+package io.oopsie.sdk.transport;
+
+import io.oopsie.sdk.Site;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * The link between a {@link Site} and the network. A {@link Site} sends all
+ * its statement and user auth calls through one shared {@link Transport}.
+ * Implementations must be thread safe.
+ * 
+ * @see HttpURLConnectionTransport
+ * @see HttpAsyncClientTransport
+ * @see RestTemplateTransport
+ * @see Site#setTransport(io.oopsie.sdk.transport.Transport) 
+ */
+public interface Transport extends Closeable {
+    
+    /**
+     * Sends the passed in request and returns the response. Error status codes
+     * (4xx, 5xx) are returned as a response, not thrown. The caller must close the
+     * returned {@link TransportResponse} to release the connection.
+     * 
+     * @param request the request to send
+     * @return the response
+     * @throws IOException if the request could not be sent or the response not received
+     */
+    TransportResponse exchange(TransportRequest request) throws IOException;
+    
+    /**
+     * Sends the passed in request asynchronously. Error status codes (4xx, 5xx)
+     * complete the returned future normally. If the request could not be sent or the
+     * response not received the future completes exceptionally with an {@link IOException}.
+     * <p>
+     * The default implementation runs the blocking {@link #exchange(io.oopsie.sdk.transport.TransportRequest) }
+     * on passed in executor. Non-blocking implementations should override this method
+     * and need not use the executor.
+     * 
+     * @param request the request to send
+     * @param executor executor to use for any blocking work
+     * @return the future response
+     */
+    default CompletableFuture<TransportResponse> exchangeAsync(TransportRequest request, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return exchange(request);
+            } catch(IOException ex) {
+                throw new CompletionException(ex);
+            }
+        }, executor);
+    }
+    
+}
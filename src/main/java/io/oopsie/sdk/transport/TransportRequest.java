@@ -0,0 +1,65 @@
+package io.oopsie.sdk.transport;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable HTTP request sent through a {@link Transport}.
+ */
+public class TransportRequest {
+    
+    private final RequestMethod method;
+    private final URI uri;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+
+    /**
+     * Creates a new {@link TransportRequest}.
+     * 
+     * @param method the request method
+     * @param uri the request URI, including any query params
+     * @param headers the request headers
+     * @param body the request body or null if no body
+     */
+    public TransportRequest(RequestMethod method, URI uri, Map<String, List<String>> headers, byte[] body) {
+        this.method = method;
+        this.uri = uri;
+        this.headers = headers != null ? Collections.unmodifiableMap(headers) : Collections.emptyMap();
+        this.body = body;
+    }
+
+    /**
+     * Returns the request method.
+     * @return the method
+     */
+    public final RequestMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * Returns the request URI.
+     * @return the URI
+     */
+    public final URI getUri() {
+        return uri;
+    }
+
+    /**
+     * Returns the request headers. A header name is mapped to all its values.
+     * @return the headers
+     */
+    public final Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Returns the request body. Note, the returned array is not copied and
+     * must not be modified.
+     * @return the body or null if no body
+     */
+    public final byte[] getBody() {
+        return body;
+    }
+}
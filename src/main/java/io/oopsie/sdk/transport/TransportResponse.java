@@ -0,0 +1,120 @@
+package io.oopsie.sdk.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An HTTP response received through a {@link Transport}. The response body
+ * can only be read once. Close the response to release the underlying connection.
+ */
+public class TransportResponse implements Closeable {
+    
+    private static final InputStream EMPTY = new ByteArrayInputStream(new byte[0]);
+    
+    private final int statusCode;
+    private final String reasonPhrase;
+    private final Map<String, List<String>> headers;
+    private final InputStream body;
+
+    /**
+     * Creates a new {@link TransportResponse}.
+     * 
+     * @param statusCode the HTTP status code
+     * @param reasonPhrase the HTTP reason phrase, might be null
+     * @param headers the response headers
+     * @param body the response body or null if no body
+     */
+    public TransportResponse(int statusCode, String reasonPhrase, Map<String, List<String>> headers,
+            InputStream body) {
+        this.statusCode = statusCode;
+        this.reasonPhrase = reasonPhrase != null ? reasonPhrase : "";
+        Map<String, List<String>> caseInsensitive = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if(headers != null) {
+            headers.forEach((name, values) -> {
+                // HttpURLConnection maps the status line to a null name
+                if(name != null) {
+                    caseInsensitive.put(name, values);
+                }
+            });
+        }
+        this.headers = Collections.unmodifiableMap(caseInsensitive);
+        this.body = body != null ? body : EMPTY;
+    }
+
+    /**
+     * Returns the HTTP status code.
+     * @return the status code
+     */
+    public final int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Returns the HTTP reason phrase.
+     * @return the reason phrase, empty if not sent
+     */
+    public final String getReasonPhrase() {
+        return reasonPhrase;
+    }
+    
+    /**
+     * Returns true if status code is 2xx.
+     * @return true if successful
+     */
+    public final boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * Returns the response headers. Header names are case insensitive.
+     * @return the headers
+     */
+    public final Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+    
+    /**
+     * Returns all values of the named header.
+     * @param name the header name, case insensitive
+     * @return the header values or null if not present
+     */
+    public final List<String> getHeader(String name) {
+        return headers.get(name);
+    }
+
+    /**
+     * Returns the response body stream.
+     * @return the body
+     */
+    public final InputStream getBody() {
+        return body;
+    }
+    
+    /**
+     * Reads the remaining response body as an UTF-8 string.
+     * @return the body as string
+     * @throws IOException if not able to read the body
+     */
+    public final String readBodyAsString() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while((read = body.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        body.close();
+    }
+}
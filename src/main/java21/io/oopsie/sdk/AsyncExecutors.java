@@ -0,0 +1,23 @@
+package io.oopsie.sdk;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Internally used by SDK to create the default {@link ExecutorService} for
+ * asynchronous executions. Java 21 version, blocking calls park a virtual
+ * thread instead of holding a platform thread.
+ */
+final class AsyncExecutors {
+
+    private AsyncExecutors() {
+    }
+    
+    /**
+     * Returns a new virtual thread per task executor.
+     * @return a new executor service
+     */
+    static ExecutorService newDefaultExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
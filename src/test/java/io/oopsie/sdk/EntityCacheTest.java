@@ -0,0 +1,135 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.transport.RequestMethod;
+import io.oopsie.sdk.transport.TransportRequest;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EntityCacheTest {
+
+    private FakeTransport transport;
+    private Site site;
+    private Resource book;
+    private EntityCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        transport = new FakeTransport(EntityCacheTest::respond);
+        site = transport.site();
+        book = site.getApplication("shop").getResource("book");
+        cache = new EntityCache(100, 1, TimeUnit.MINUTES);
+        site.setEntityCache(cache);
+    }
+
+    @After
+    public void tearDown() {
+        site.close();
+    }
+
+    @Test
+    public void readByPrimaryKeyIsServedFromCache() {
+
+        UUID id = UUID.randomUUID();
+        site.execute(book.get().withParam("id", id));
+        ResultSet cached = site.execute(book.get().withParam("id", id));
+
+        assertEquals(1, transport.count(RequestMethod.GET));
+        assertEquals(id, cached.one().get("id"));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void readOfOtherViewIsNotCached() {
+
+        site.execute(book.get(book.getView("by_shelf")).withParam("shelf", "a"));
+        site.execute(book.get(book.getView("by_shelf")).withParam("shelf", "a"));
+
+        assertEquals(2, transport.count(RequestMethod.GET));
+    }
+
+    @Test
+    public void writeInvalidatesEntity() {
+
+        UUID id = UUID.randomUUID();
+        site.execute(book.get().withParam("id", id));
+        site.execute(book.save().withParam("id", id).withParam("title", "changed"));
+        site.execute(book.get().withParam("id", id));
+
+        assertEquals(2, transport.count(RequestMethod.GET));
+    }
+
+    @Test
+    public void readSentBeforeWriteIsNotCached() {
+
+        UUID id = UUID.randomUUID();
+        transport.hold();
+        CompletableFuture<ResultSet> read = site.executeAsync(book.get().withParam("id", id));
+        // the write completes while the read is in flight, the read may hold the old entity
+        site.execute(book.save().withParam("id", id).withParam("title", "changed"));
+        transport.releaseAll();
+        read.join();
+        site.execute(book.get().withParam("id", id));
+
+        assertEquals(2, transport.count(RequestMethod.GET));
+    }
+
+    @Test
+    public void resultOfReadStartedBeforeInvalidationIsNotStored() {
+
+        UUID id = UUID.randomUUID();
+        ResultSet result = site.execute(book.get().withParam("id", id));
+        long generation = cache.generation();
+        cache.written(book.save().withParam("id", id));
+        cache.executed(book.get().withParam("id", id), null, result, generation);
+
+        assertNull(cache.read(book.get().withParam("id", id), null));
+    }
+
+    @Test
+    public void invalidateAllOfResourceDropsItsEntities() {
+
+        UUID id = UUID.randomUUID();
+        site.execute(book.get().withParam("id", id));
+        cache.invalidateAll(book);
+        site.execute(book.get().withParam("id", id));
+
+        assertEquals(2, transport.count(RequestMethod.GET));
+    }
+
+    @Test
+    public void evictionsAreCounted() {
+
+        EntityCache small = new EntityCache(1, 1, TimeUnit.MINUTES);
+        site.setEntityCache(small);
+        site.execute(book.get().withParam("id", UUID.randomUUID()));
+        site.execute(book.get().withParam("id", UUID.randomUUID()));
+
+        assertEquals(1, small.size());
+        assertEquals(1, small.getEvictionCount());
+    }
+
+    /**
+     * Answers a read with one book of the requested id, and a write with the written book.
+     */
+    static String respond(TransportRequest request) {
+
+        if(!request.getMethod().equals(RequestMethod.GET)) {
+            return FakeTransport.json(FakeTransport.body(request));
+        }
+        Map<String, String> query = FakeTransport.query(request);
+        Map<String, Object> entity = new HashMap<>();
+        entity.put("id", query.containsKey("id") ? query.get("id") : UUID.randomUUID().toString());
+        entity.put("title", "title");
+        return FakeTransport.page(Collections.singletonList(entity), null);
+    }
+}
@@ -0,0 +1,158 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementParamException;
+import io.oopsie.sdk.transport.RequestMethod;
+import io.oopsie.sdk.transport.TransportRequest;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EntityTest {
+
+    private static final UUID ID = UUID.fromString("8f3b2c1d-4e5f-4a6b-9c7d-0e1f2a3b4c5d");
+    private static final String PUBLISHED = "2020-01-02T03:04:05Z";
+
+    private FakeTransport transport;
+    private Site site;
+    private Resource book;
+    private Entity entity;
+
+    @Before
+    public void setUp() throws Exception {
+        transport = new FakeTransport(EntityTest::respond);
+        site = transport.site();
+        book = site.getApplication("shop").getResource("book");
+        entity = book.entity(site.execute(book.get().withParam("id", ID)).one());
+    }
+
+    @After
+    public void tearDown() {
+        site.close();
+    }
+
+    @Test
+    public void settingCurrentValueKeepsEntityUnchanged() {
+
+        entity.set("title", "title").set("price", 9.9);
+
+        assertFalse(entity.isDirty());
+        assertNull(site.save(entity));
+        assertEquals(0, transport.count(RequestMethod.PUT));
+    }
+
+    @Test
+    public void valuesAreComparedByDataType() {
+
+        Instant published = Instant.parse(PUBLISHED);
+        entity.set("published", Date.from(published))
+                .set("published", published)
+                .set("published", PUBLISHED)
+                .set("pages", 100)
+                .set("pages", 100L)
+                .set("price", new BigDecimal("9.90"));
+
+        assertFalse(entity.isDirty());
+    }
+
+    @Test
+    public void changedValueIsSavedOnce() {
+
+        entity.set("title", "changed").set("pages", 101);
+
+        assertTrue(entity.isDirty());
+        assertEquals(new HashSet<>(Arrays.asList("title", "pages")),
+                entity.getChangedAttributeNames());
+        assertEquals("changed", entity.get("title"));
+        site.save(entity);
+        assertFalse(entity.isDirty());
+        assertNull(site.save(entity));
+
+        assertEquals(1, transport.count(RequestMethod.PUT));
+        Map<String, Object> body = FakeTransport.body(transport.requests().get(1));
+        assertEquals("changed", body.get("title"));
+        assertEquals(101, ((Number)body.get("pages")).intValue());
+        assertEquals(ID.toString(), body.get("id"));
+    }
+
+    @Test
+    public void valueChangedWhileSavingStaysChanged() {
+
+        entity.set("title", "first");
+        transport.hold();
+        CompletableFuture<ResultSet> saved = site.saveAsync(entity);
+        entity.set("title", "second");
+        transport.releaseAll();
+        saved.join();
+
+        assertTrue(entity.isDirty());
+        assertEquals(Collections.singleton("title"), entity.getChangedAttributeNames());
+        assertEquals("second", entity.get("title"));
+    }
+
+    @Test
+    public void valueSetBackWhileSavingInOtherTypeIsSaved() {
+
+        Instant published = Instant.parse("2021-01-01T00:00:00Z");
+        entity.set("published", published);
+        transport.hold();
+        CompletableFuture<ResultSet> saved = site.saveAsync(entity);
+        entity.set("published", Date.from(published));
+        transport.releaseAll();
+        saved.join();
+
+        assertFalse(entity.isDirty());
+        assertEquals("2021-01-01T00:00:00Z", FakeTransport.body(transport.requests().get(1)).get("published"));
+    }
+
+    @Test(expected = StatementParamException.class)
+    public void unknownAttributeCantBeSet() {
+        entity.set("author", "someone");
+    }
+
+    @Test(expected = StatementParamException.class)
+    public void primaryKeyCantBeSet() {
+        entity.set("id", UUID.randomUUID());
+    }
+
+    @Test(expected = StatementParamException.class)
+    public void serverManagedAttributeCantBeSet() {
+        entity.set("changedAt", new Date());
+    }
+
+    @Test
+    public void decimalsAreComparedExactly() {
+
+        entity.set("price", new BigDecimal("9.900000000000000000001"));
+
+        assertTrue(entity.isDirty());
+    }
+
+    static String respond(TransportRequest request) {
+
+        if(!request.getMethod().equals(RequestMethod.GET)) {
+            return FakeTransport.json(FakeTransport.body(request));
+        }
+        Map<String, Object> entity = new HashMap<>();
+        entity.put("id", ID.toString());
+        entity.put("title", "title");
+        entity.put("pages", 100);
+        entity.put("published", PUBLISHED);
+        entity.put("price", 9.9);
+        return FakeTransport.page(Collections.singletonList(entity), null);
+    }
+}
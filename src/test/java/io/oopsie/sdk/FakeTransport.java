@@ -0,0 +1,310 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.transport.RequestMethod;
+import io.oopsie.sdk.transport.Transport;
+import io.oopsie.sdk.transport.TransportRequest;
+import io.oopsie.sdk.transport.TransportResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A {@link Transport} answering requests from a handler instead of the network, used by tests
+ * to run a {@link Site} without a remote site. The init request is answered with the model of
+ * {@link #MODEL}, all other requests are recorded and answered with the JSON body returned by
+ * the handler. Asynchronous exchanges complete right away unless held, see {@link #hold() }.
+ */
+class FakeTransport implements Transport {
+
+    static final UUID BOOK_ID = UUID.fromString("6a0c5a2e-7f7e-4c52-9d6b-2f1f0e3c8a11");
+
+    /**
+     * A site of one application, "shop", holding one resource, "book", with primary key "id"
+     * and the views "by_shelf", partitioned by "shelf" and clustered by "title", and "shelf_ids",
+     * partitioned by "shelf" and clustered by "id".
+     */
+    static final String MODEL = ("{'shop': {'resources': [{"
+            + "'id': '" + BOOK_ID + "', 'name': 'book', 'authEnabled': false,"
+            + "'attributes': ["
+            + "{'id': '0c5e1b36-2d7a-4d4e-8c9b-1a2b3c4d5e01', 'name': 'id', 'type': 'UUID'},"
+            + "{'id': '0c5e1b36-2d7a-4d4e-8c9b-1a2b3c4d5e02', 'name': 'shelf', 'type': 'TEXT'},"
+            + "{'id': '0c5e1b36-2d7a-4d4e-8c9b-1a2b3c4d5e03', 'name': 'title', 'type': 'TEXT'},"
+            + "{'id': '0c5e1b36-2d7a-4d4e-8c9b-1a2b3c4d5e04', 'name': 'pages', 'type': 'BIG_INTEGER'},"
+            + "{'id': '0c5e1b36-2d7a-4d4e-8c9b-1a2b3c4d5e05', 'name': 'published', 'type': 'TIMESTAMP'},"
+            + "{'id': '0c5e1b36-2d7a-4d4e-8c9b-1a2b3c4d5e06', 'name': 'price', 'type': 'DECIMAL'},"
+            + "{'id': '0c5e1b36-2d7a-4d4e-8c9b-1a2b3c4d5e07', 'name': 'changedAt', 'type': 'CHANGED_AT'}],"
+            + "'views': ["
+            + "{'id': '0c5e1b36-2d7a-4d4e-8c9b-1a2b3c4d5e11', 'name': 'book_primary', 'primary': true,"
+            + "'partitionKeys': [{'name': 'id', 'type': 'UUID'}], 'clusterKeys': []},"
+            + "{'id': '0c5e1b36-2d7a-4d4e-8c9b-1a2b3c4d5e12', 'name': 'by_shelf', 'primary': false,"
+            + "'partitionKeys': [{'name': 'shelf', 'type': 'TEXT'}],"
+            + "'clusterKeys': [{'name': 'title', 'type': 'TEXT'}]},"
+            + "{'id': '0c5e1b36-2d7a-4d4e-8c9b-1a2b3c4d5e13', 'name': 'shelf_ids', 'primary': false,"
+            + "'partitionKeys': [{'name': 'shelf', 'type': 'TEXT'}],"
+            + "'clusterKeys': [{'name': 'id', 'type': 'UUID'}]}]"
+            + "}]}}").replace('\'', '"');
+
+    private final Function<TransportRequest, String> handler;
+    private final List<TransportRequest> requests = new CopyOnWriteArrayList<>();
+    private final Queue<Runnable> held = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inits = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile boolean holding;
+
+    /**
+     * Creates a transport answering requests with the body returned by passed in handler.
+     *
+     * @param handler returns the JSON body of the response to a request
+     */
+    FakeTransport(Function<TransportRequest, String> handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Creates and initializes a site sending its requests through this transport.
+     *
+     * @return the site
+     * @throws Exception if not able to create the site
+     */
+    Site site() throws Exception {
+        Site site = new Site("http://localhost:8080", UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(), "api-key");
+        site.setTransport(this);
+        site.init();
+        return site;
+    }
+
+    @Override
+    public TransportResponse exchange(TransportRequest request) throws IOException {
+
+        if(request.getUri().getPath().endsWith("/init")) {
+            inits.incrementAndGet();
+            return response(MODEL);
+        }
+        requests.add(request);
+        return response(handler.apply(request));
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> exchangeAsync(TransportRequest request, Executor executor) {
+
+        CompletableFuture<TransportResponse> response = new CompletableFuture<>();
+        Runnable exchange = () -> {
+            try {
+                response.complete(exchange(request));
+            } catch(IOException | RuntimeException ex) {
+                response.completeExceptionally(ex);
+            }
+        };
+        if(!holding) {
+            exchange.run();
+            return response;
+        }
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        held.add(() -> {
+            inFlight.decrementAndGet();
+            exchange.run();
+        });
+        return response;
+    }
+
+    /**
+     * Holds asynchronous exchanges until released.
+     */
+    void hold() {
+        holding = true;
+    }
+
+    /**
+     * Answers the oldest held exchange.
+     *
+     * @return false if no exchange was held
+     */
+    boolean releaseOne() {
+        Runnable exchange = held.poll();
+        if(exchange == null) {
+            return false;
+        }
+        exchange.run();
+        return true;
+    }
+
+    /**
+     * Stops holding exchanges and answers all held ones, including those held while answering.
+     */
+    void releaseAll() {
+        holding = false;
+        while(releaseOne()) {
+        }
+    }
+
+    /**
+     * Answers held exchanges, including those sent meanwhile, until passed in future is done.
+     *
+     * @param future the future to wait for
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void releaseUntilDone(CompletableFuture<?> future) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while(!future.isDone() && System.currentTimeMillis() < deadline) {
+            if(!releaseOne()) {
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    /**
+     * Waits until passed in number of exchanges are held.
+     *
+     * @param count the number of exchanges
+     * @return true if held in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean awaitHeld(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while(held.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        return held.size() >= count;
+    }
+
+    /**
+     * Returns the number of held exchanges.
+     * @return number of held exchanges
+     */
+    int heldCount() {
+        return held.size();
+    }
+
+    /**
+     * Returns the largest number of exchanges held at once.
+     * @return max held exchanges
+     */
+    int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    /**
+     * Returns the number of init requests sent.
+     * @return number of init requests
+     */
+    int initCount() {
+        return inits.get();
+    }
+
+    /**
+     * Returns the requests sent, except for init requests.
+     * @return the requests
+     */
+    List<TransportRequest> requests() {
+        return requests;
+    }
+
+    /**
+     * Returns the number of requests sent with passed in method, except for init requests.
+     *
+     * @param method the request method
+     * @return number of requests
+     */
+    int count(RequestMethod method) {
+        return (int)requests.stream().filter(request -> request.getMethod().equals(method)).count();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Returns the decoded query params of passed in request.
+     *
+     * @param request the request
+     * @return query params mapped to their names
+     */
+    static Map<String, String> query(TransportRequest request) {
+
+        Map<String, String> params = new LinkedHashMap<>();
+        String query = request.getUri().getRawQuery();
+        if(query == null) {
+            return params;
+        }
+        try {
+            for(String param : query.split("&")) {
+                int eq = param.indexOf('=');
+                params.put(URLDecoder.decode(eq < 0 ? param : param.substring(0, eq), "UTF-8"),
+                        eq < 0 ? null : URLDecoder.decode(param.substring(eq + 1), "UTF-8"));
+            }
+        } catch(UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return params;
+    }
+
+    /**
+     * Returns the decoded JSON body of passed in request.
+     *
+     * @param request the request
+     * @return the body or an empty map if none
+     */
+    static Map<String, Object> body(TransportRequest request) {
+        if(request.getBody() == null) {
+            return new HashMap<>();
+        }
+        try {
+            return Json.readMap(new ByteArrayInputStream(request.getBody()));
+        } catch(IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Returns the JSON body of a GET response.
+     *
+     * @param entities the entities of the page
+     * @param pageState the page state of the next page or null if the last page
+     * @return the body
+     */
+    static String page(List<Map<String, Object>> entities, String pageState) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("pageState", pageState);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("entities", entities);
+        body.put("metadata", metadata);
+        return json(body);
+    }
+
+    /**
+     * Returns passed in value as JSON.
+     *
+     * @param value the value
+     * @return the JSON
+     */
+    static String json(Object value) {
+        try {
+            return new String(Json.write(value), StandardCharsets.UTF_8);
+        } catch(IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static TransportResponse response(String body) {
+        return new TransportResponse(200, "OK", Collections.emptyMap(),
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,106 @@
+package io.oopsie.sdk;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FileShardCoordinatorTest {
+
+    private static final long LEASE = 60000;
+
+    private Path directory;
+    private FileShardCoordinator first;
+    private FileShardCoordinator second;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("shards");
+        first = new FileShardCoordinator(directory, LEASE, TimeUnit.MILLISECONDS);
+        second = new FileShardCoordinator(directory, LEASE, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        PageCheckpointsTest.delete(directory);
+    }
+
+    @Test
+    public void claimIsExclusive() throws IOException {
+        assertTrue(first.claim("plan", 0));
+        assertFalse(second.claim("plan", 0));
+        assertFalse(first.claim("plan", 0));
+        assertTrue(second.claim("plan", 1));
+    }
+
+    @Test
+    public void completedShardIsNotClaimedAgain() throws IOException {
+        assertTrue(first.claim("plan", 0));
+        first.complete("plan", 0);
+        assertFalse(first.claim("plan", 0));
+        assertFalse(second.claim("plan", 0));
+    }
+
+    @Test
+    public void releasedShardIsClaimedByOtherWorker() throws IOException {
+        assertTrue(first.claim("plan", 0));
+        first.release("plan", 0);
+        assertFalse(first.renew("plan", 0));
+        assertTrue(second.claim("plan", 0));
+    }
+
+    @Test
+    public void releaseOfOtherWorkerIsIgnored() throws IOException {
+        assertTrue(first.claim("plan", 0));
+        second.release("plan", 0);
+        assertTrue(first.renew("plan", 0));
+        assertFalse(second.claim("plan", 0));
+    }
+
+    @Test
+    public void expiredClaimIsTakenOverAndFoundLost() throws IOException {
+
+        assertTrue(first.claim("plan", 0));
+        expire(0);
+
+        assertTrue(second.claim("plan", 0));
+        assertFalse(first.renew("plan", 0));
+        assertTrue(second.renew("plan", 0));
+        // the lost claim is not released or completed on the new owner's behalf
+        first.release("plan", 0);
+        assertTrue(second.renew("plan", 0));
+    }
+
+    @Test
+    public void renewedClaimIsNotTakenOver() throws IOException {
+
+        assertTrue(first.claim("plan", 0));
+        expire(0);
+        assertTrue(first.renew("plan", 0));
+
+        assertFalse(second.claim("plan", 0));
+        assertTrue(first.renew("plan", 0));
+    }
+
+    @Test
+    public void expiredClaimOfCompletedShardIsNotTakenOver() throws IOException {
+
+        assertTrue(first.claim("plan", 0));
+        Files.createFile(directory.resolve("plan").resolve("shard-0.done"));
+        expire(0);
+
+        assertFalse(second.claim("plan", 0));
+    }
+
+    private void expire(int shard) throws IOException {
+        Files.setLastModifiedTime(directory.resolve("plan").resolve("shard-" + shard + ".lock"),
+                FileTime.fromMillis(System.currentTimeMillis() - 2 * LEASE));
+    }
+}
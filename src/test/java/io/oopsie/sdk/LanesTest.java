@@ -0,0 +1,88 @@
+package io.oopsie.sdk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LanesTest {
+
+    @Test
+    public void runsLanesInOrderWithBoundedConcurrency() {
+
+        Map<Integer, CompletableFuture<Void>> running = new ConcurrentHashMap<>();
+        List<Integer> started = Collections.synchronizedList(new ArrayList<>());
+        List<int[]> lanes = Arrays.asList(new int[] {0, 1}, new int[] {2, 3}, new int[] {4});
+        CompletableFuture<Void> done = Lanes.run(lanes, 2, i -> {
+            started.add(i);
+            CompletableFuture<Void> task = new CompletableFuture<>();
+            running.put(i, task);
+            return task;
+        });
+
+        assertEquals(Arrays.asList(0, 2), started);
+        running.get(0).complete(null);
+        assertEquals(Arrays.asList(0, 2, 1), started);
+        running.get(1).complete(null);
+        // lane of 0 and 1 done, its worker takes the next lane
+        assertEquals(Arrays.asList(0, 2, 1, 4), started);
+        running.get(4).complete(null);
+        running.get(2).complete(null);
+        assertFalse(done.isDone());
+        running.get(3).complete(null);
+        assertTrue(done.isDone());
+    }
+
+    @Test
+    public void failedTaskDoesNotStopItsLane() {
+
+        List<Integer> started = new ArrayList<>();
+        CompletableFuture<Void> done = Lanes.run(Collections.singletonList(new int[] {0, 1, 2}), 1, i -> {
+            started.add(i);
+            if(i == 0) {
+                throw new IllegalStateException("failed");
+            }
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("failed"));
+            return i == 1 ? failed : CompletableFuture.completedFuture(null);
+        });
+
+        assertEquals(Arrays.asList(0, 1, 2), started);
+        assertTrue(done.isDone());
+        assertFalse(done.isCompletedExceptionally());
+    }
+
+    @Test
+    public void tasksCompletingRightAwayDoNotGrowTheStack() {
+
+        int[] lane = new int[100000];
+        for(int i = 0; i < lane.length; i++) {
+            lane[i] = i;
+        }
+        int[] count = new int[1];
+        Lanes.run(Collections.singletonList(lane), 1, i -> {
+            count[0]++;
+            return CompletableFuture.completedFuture(null);
+        }).join();
+
+        assertEquals(lane.length, count[0]);
+    }
+
+    @Test
+    public void noLanesCompleteRightAway() {
+        assertTrue(Lanes.run(Collections.emptyList(), 4, i -> null).isDone());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void concurrencyMustBePositive() {
+        Lanes.run(Collections.singletonList(new int[] {0}), 0, i -> CompletableFuture.completedFuture(null));
+    }
+}
@@ -0,0 +1,165 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementExecutionException;
+import io.oopsie.sdk.error.StatementParamException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PageCheckpointsTest {
+
+    private PartitionScanTest.Library library;
+    private Site site;
+    private Resource book;
+    private Path directory;
+
+    @Before
+    public void setUp() throws Exception {
+        // pages of 2 books: states null, "2", "4" and "6"
+        library = new PartitionScanTest.Library(2);
+        library.shelve("a", 7);
+        site = new FakeTransport(library::respond).site();
+        book = site.getApplication("shop").getResource("book");
+        directory = Files.createTempDirectory("checkpoints");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        site.close();
+        delete(directory);
+    }
+
+    @Test
+    public void checkpointRecordsEveryRangeStart() {
+
+        List<UUID> ids = new ArrayList<>();
+        PageCheckpoints checkpoints = site.checkpoint(shelf(), 2, row -> ids.add((UUID)row.get("id")));
+
+        assertEquals(library.ids("a"), ids);
+        assertEquals(Arrays.asList(null, "4"), checkpoints.getPageStates());
+        assertEquals(book.getResourceId(), checkpoints.getResourceId());
+        assertEquals("by_shelf", checkpoints.getView());
+        assertFalse(checkpoints.isCompleted());
+    }
+
+    @Test
+    public void saveAndLoadKeepCheckpoints() throws IOException {
+
+        PageCheckpoints checkpoints = site.checkpoint(shelf(), 1);
+        checkpoints.completed(1);
+        Path file = directory.resolve("nested").resolve("a.json");
+        checkpoints.save(file);
+        PageCheckpoints loaded = PageCheckpoints.load(file);
+
+        assertEquals(checkpoints.getPageStates(), loaded.getPageStates());
+        assertEquals(checkpoints.getResourceId(), loaded.getResourceId());
+        assertEquals(checkpoints.getView(), loaded.getView());
+        assertFalse(loaded.isCompleted(0));
+        assertTrue(loaded.isCompleted(1));
+    }
+
+    @Test(expected = IOException.class)
+    public void loadRejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("other.json");
+        Files.write(file, "{\"view\": 1}".getBytes("UTF-8"));
+        PageCheckpoints.load(file);
+    }
+
+    @Test
+    public void replayReturnsEveryRowOnce() {
+
+        PageCheckpoints checkpoints = site.checkpoint(shelf(), 1);
+        List<UUID> ids = new ArrayList<>();
+        site.replay(shelf(), checkpoints, 3).forEach(row -> ids.add((UUID)row.get("id")));
+
+        assertEquals(library.ids("a"), library.inServerOrder(ids));
+        assertTrue(checkpoints.isCompleted());
+    }
+
+    @Test
+    public void interruptedReplayResumesAtRangesNotCompleted() throws IOException {
+
+        PageCheckpoints checkpoints = site.checkpoint(shelf(), 2);
+        Path file = directory.resolve("a.json");
+        Iterator<Row> rows = site.replay(shelf(), checkpoints, 1, file).iterator();
+        for(int i = 0; i < 4; i++) {
+            rows.next();
+        }
+        // completes the first range
+        assertTrue(rows.hasNext());
+
+        PageCheckpoints resumed = PageCheckpoints.load(file);
+        assertTrue(resumed.isCompleted(0));
+        assertFalse(resumed.isCompleted(1));
+        List<UUID> ids = new ArrayList<>();
+        site.replay(shelf(), resumed, 1, file).forEach(row -> ids.add((UUID)row.get("id")));
+        assertEquals(library.ids("a").subList(4, 7), ids);
+        assertTrue(PageCheckpoints.load(file).isCompleted());
+    }
+
+    @Test
+    public void failedSaveIsThrownFromIterator() throws IOException {
+
+        PageCheckpoints checkpoints = site.checkpoint(shelf(), 2);
+        Path blocked = directory.resolve("blocked");
+        Files.createFile(blocked);
+        Iterator<Row> rows = site.replay(shelf(), checkpoints, 1, blocked.resolve("a.json")).iterator();
+        try {
+            while(rows.hasNext()) {
+                rows.next();
+            }
+            fail("expected save failure");
+        } catch(StatementExecutionException ex) {
+            assertTrue(ex.getCause() instanceof IOException);
+        }
+    }
+
+    @Test(expected = StatementParamException.class)
+    public void replayRejectsCheckpointsOfOtherView() {
+        PageCheckpoints checkpoints = site.checkpoint(shelf(), 2);
+        site.replay(book.get(), checkpoints, 1);
+    }
+
+    @Test
+    public void checkpointRejectsLimitNotIntegerBeforePaging() {
+
+        List<Row> rows = new ArrayList<>();
+        try {
+            site.checkpoint(shelf().withParam("_limit", "ten"), 1, rows::add);
+            fail("expected limit rejected");
+        } catch(StatementParamException ex) {
+            // expected
+        }
+        assertTrue(rows.isEmpty());
+    }
+
+    private GetStatement shelf() {
+        return book.get(book.getView("by_shelf")).withParam("shelf", "a");
+    }
+
+    /**
+     * Deletes passed in directory and everything in it.
+     */
+    static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for(Path file : (Iterable<Path>)files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
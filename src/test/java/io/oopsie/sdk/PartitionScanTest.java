@@ -0,0 +1,269 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementParamException;
+import io.oopsie.sdk.transport.RequestMethod;
+import io.oopsie.sdk.transport.TransportRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PartitionScanTest {
+
+    private Library library;
+    private FakeTransport transport;
+    private Site site;
+    private Resource book;
+
+    @Before
+    public void setUp() throws Exception {
+        library = new Library(2);
+        library.shelve("a", 5);
+        library.shelve("b", 3);
+        library.shelve("c", 0);
+        transport = new FakeTransport(library::respond);
+        site = transport.site();
+        book = site.getApplication("shop").getResource("book");
+    }
+
+    @After
+    public void tearDown() {
+        site.close();
+    }
+
+    @Test
+    public void orderedScanMergesPartitionsInClusterOrder() {
+
+        List<UUID> ids = new ArrayList<>();
+        site.scan(byShelf(), shelves("a", "b", "c"), true, 2).forEach(row -> ids.add((UUID)row.get("id")));
+
+        assertEquals(library.inServerOrder(library.ids("a", "b", "c")), ids);
+    }
+
+    @Test
+    public void textIsMergedByCodePoint() {
+
+        // UTF-16 chars put the surrogate pair of U+1F600 before U+FB01, the server doesn't
+        library.shelve("d", "\uD83D\uDE00");
+        library.shelve("e", "z", "\uFB01");
+        List<String> titles = new ArrayList<>();
+        site.scan(byShelf(), shelves("d", "e"), true, 2).forEach(row -> titles.add((String)row.get("title")));
+
+        assertEquals(Arrays.asList("z", "\uFB01", "\uD83D\uDE00"), titles);
+    }
+
+    @Test
+    public void orderedScanRefusesClusterKeysOfUnknownOrder() {
+
+        try {
+            site.scan(book.get(book.getView("shelf_ids")), shelves("a"), true);
+            fail("merged rows by a UUID cluster key");
+        } catch(StatementParamException ex) {
+            assertTrue(ex.getMessage().contains("'id'"));
+        }
+        assertEquals(0, transport.count(RequestMethod.GET));
+    }
+
+    @Test
+    public void unorderedScanReturnsEveryRowOnce() {
+
+        for(int parallelism = 1; parallelism <= 3; parallelism++) {
+            List<UUID> ids = new ArrayList<>();
+            site.scan(byShelf(), shelves("a", "b", "c"), false, parallelism)
+                    .forEach(row -> ids.add((UUID)row.get("id")));
+
+            assertEquals(8, ids.size());
+            assertEquals(new HashSet<>(library.ids("a", "b", "c")), new HashSet<>(ids));
+        }
+    }
+
+    @Test
+    public void partitionEndsAtPageStateAndIsReportedConsumed() {
+
+        List<Integer> consumed = new ArrayList<>();
+        PartitionScan scan = new PartitionScan(site, statements("a", "b"), Arrays.asList("2", null), null, 1,
+                null, consumed::add);
+        List<UUID> ids = new ArrayList<>();
+        scan.forEachRemaining(row -> ids.add((UUID)row.get("id")));
+
+        List<UUID> expected = library.ids("a").subList(0, 2);
+        expected.addAll(library.ids("b"));
+        assertEquals(expected, ids);
+        assertEquals(Arrays.asList(0, 1), consumed);
+    }
+
+    @Test
+    public void abortedPartitionIsSkippedAndNeverConsumed() {
+
+        List<Integer> consumed = new ArrayList<>();
+        PartitionScan scan = new PartitionScan(site, statements("a", "b"), null, null, 1, null, consumed::add);
+        assertEquals(library.ids("a").get(0), scan.next().get("id"));
+        scan.abort(0);
+        List<UUID> ids = new ArrayList<>();
+        scan.forEachRemaining(row -> ids.add((UUID)row.get("id")));
+
+        assertEquals(library.ids("b"), ids);
+        assertEquals(Collections.singletonList(1), consumed);
+    }
+
+    @Test
+    public void abortedPartitionIsDroppedFromMerge() {
+
+        PartitionScan scan = new PartitionScan(site, statements("a", "b"), null,
+                Scans.clusterOrder(book.getView("by_shelf")), 2, null, null);
+        assertTrue(scan.hasNext());
+        scan.abort(1);
+        List<UUID> ids = new ArrayList<>();
+        scan.forEachRemaining(row -> ids.add((UUID)row.get("id")));
+
+        assertEquals(library.ids("a"), ids);
+    }
+
+    @Test
+    public void emptyScanSendsNothing() {
+        assertFalse(site.scan(byShelf(), Collections.emptyList(), true).iterator().hasNext());
+        assertEquals(0, transport.count(RequestMethod.GET));
+    }
+
+    @Test(expected = StatementParamException.class)
+    public void partitionMustHoldAllPartitionKeys() {
+        site.scan(byShelf(), Collections.singletonList(Collections.singletonMap("title", "a")), true);
+    }
+
+    private GetStatement byShelf() {
+        return book.get(book.getView("by_shelf"));
+    }
+
+    private List<GetStatement> statements(String... shelves) {
+        List<GetStatement> statements = new ArrayList<>();
+        for(String shelf : shelves) {
+            statements.add(byShelf().withParam("shelf", shelf));
+        }
+        return statements;
+    }
+
+    private static List<Map<String, Object>> shelves(String... shelves) {
+        List<Map<String, Object>> partitions = new ArrayList<>();
+        for(String shelf : shelves) {
+            partitions.add(Collections.singletonMap("shelf", shelf));
+        }
+        return partitions;
+    }
+
+    /**
+     * Books on shelves, each shelf a partition of the "by_shelf" view paged by offset. Like the
+     * server, each shelf holds its books in the order of the UTF-8 bytes of their titles.
+     */
+    static final class Library {
+
+        private static final String[] LETTERS = {"a", "z", "\u00e9", "\uFB01", "\uD83D\uDE00"};
+
+        private final int pageSize;
+        private final Random random = new Random(17);
+        private final Map<String, List<UUID>> shelves = new HashMap<>();
+        private final Map<UUID, String> titles = new HashMap<>();
+
+        Library(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        /**
+         * Puts passed in number of books with distinct random titles on named shelf.
+         */
+        void shelve(String shelf, int books) {
+            String[] titles = new String[books];
+            for(int i = 0; i < books; i++) {
+                titles[i] = randomTitle();
+            }
+            shelve(shelf, titles);
+        }
+
+        /**
+         * Puts books of passed in titles on named shelf.
+         */
+        void shelve(String shelf, String... titles) {
+            List<UUID> ids = new ArrayList<>();
+            for(String title : titles) {
+                UUID id = UUID.randomUUID();
+                this.titles.put(id, title);
+                ids.add(id);
+            }
+            shelves.put(shelf, inServerOrder(ids));
+        }
+
+        /**
+         * Returns the ids of the books on named shelves, shelf by shelf.
+         */
+        List<UUID> ids(String... shelves) {
+            List<UUID> ids = new ArrayList<>();
+            for(String shelf : shelves) {
+                ids.addAll(this.shelves.get(shelf));
+            }
+            return ids;
+        }
+
+        /**
+         * Returns passed in ids of books ordered by the UTF-8 bytes of their titles.
+         */
+        List<UUID> inServerOrder(List<UUID> ids) {
+            List<UUID> sorted = new ArrayList<>(ids);
+            sorted.sort((a, b) -> compareUnsigned(titles.get(a).getBytes(StandardCharsets.UTF_8),
+                    titles.get(b).getBytes(StandardCharsets.UTF_8)));
+            return sorted;
+        }
+
+        String respond(TransportRequest request) {
+
+            Map<String, String> query = FakeTransport.query(request);
+            String shelf = query.get("shelf");
+            List<UUID> ids = shelves.getOrDefault(shelf, Collections.emptyList());
+            int from = query.get("pageState") != null ? Integer.parseInt(query.get("pageState")) : 0;
+            int to = Math.min(ids.size(), from + pageSize);
+            List<Map<String, Object>> entities = new ArrayList<>();
+            for(UUID id : ids.subList(from, to)) {
+                Map<String, Object> entity = new HashMap<>();
+                entity.put("id", id.toString());
+                entity.put("shelf", shelf);
+                entity.put("title", titles.get(id));
+                entities.add(entity);
+            }
+            return FakeTransport.page(entities, to < ids.size() ? String.valueOf(to) : null);
+        }
+
+        private String randomTitle() {
+            while(true) {
+                StringBuilder title = new StringBuilder();
+                for(int i = random.nextInt(3); i >= 0; i--) {
+                    title.append(LETTERS[random.nextInt(LETTERS.length)]);
+                }
+                if(!titles.containsValue(title.toString())) {
+                    return title.toString();
+                }
+            }
+        }
+
+        private static int compareUnsigned(byte[] a, byte[] b) {
+            for(int i = 0; i < Math.min(a.length, b.length); i++) {
+                int c = Integer.compare(a[i] & 0xff, b[i] & 0xff);
+                if(c != 0) {
+                    return c;
+                }
+            }
+            return Integer.compare(a.length, b.length);
+        }
+    }
+}
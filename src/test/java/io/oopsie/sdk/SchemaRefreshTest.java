@@ -0,0 +1,54 @@
+package io.oopsie.sdk;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SchemaRefreshTest {
+
+    private FakeTransport transport;
+    private Site site;
+
+    @Before
+    public void setUp() throws Exception {
+        transport = new FakeTransport(EntityCacheTest::respond);
+        site = transport.site();
+    }
+
+    @Test
+    public void refreshFetchesModelPeriodically() throws InterruptedException {
+
+        site.startSchemaRefresh(10, TimeUnit.MILLISECONDS);
+        long deadline = System.currentTimeMillis() + 5000;
+        while(transport.initCount() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        site.close();
+
+        assertTrue(transport.initCount() >= 3);
+        assertTrue(site.isInitialized());
+    }
+
+    @Test
+    public void closeStopsRefresh() throws InterruptedException {
+
+        site.startSchemaRefresh(50, TimeUnit.MILLISECONDS);
+        site.close();
+        Thread.sleep(200);
+
+        assertEquals(1, transport.initCount());
+    }
+
+    @Test
+    public void gracefulCloseStopsRefresh() throws InterruptedException {
+
+        site.startSchemaRefresh(50, TimeUnit.MILLISECONDS);
+        site.close(1, TimeUnit.SECONDS);
+        Thread.sleep(200);
+
+        assertEquals(1, transport.initCount());
+    }
+}
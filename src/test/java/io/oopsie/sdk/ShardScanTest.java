@@ -0,0 +1,200 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementExecutionException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ShardScanTest {
+
+    private PartitionScanTest.Library library;
+    private Site site;
+    private Resource book;
+    private String failingShelf;
+
+    @Before
+    public void setUp() throws Exception {
+        library = new PartitionScanTest.Library(2);
+        library.shelve("a", 5);
+        library.shelve("b", 3);
+        library.shelve("c", 4);
+        library.shelve("d", 1);
+        site = new FakeTransport(request -> {
+            if(FakeTransport.query(request).get("shelf").equals(failingShelf)) {
+                throw new UncheckedIOException(new IOException("Connection reset"));
+            }
+            return library.respond(request);
+        }).site();
+        book = site.getApplication("shop").getResource("book");
+    }
+
+    @After
+    public void tearDown() {
+        site.close();
+    }
+
+    @Test
+    public void scanReturnsRowsOfAllShardsAndCompletesThem() {
+
+        MemoryCoordinator coordinator = new MemoryCoordinator(60000);
+        List<UUID> ids = ids(site.scan(plan(), coordinator, 2).iterator());
+
+        assertEquals(new HashSet<>(library.ids("a", "b", "c", "d")), new HashSet<>(ids));
+        assertEquals(13, ids.size());
+        assertEquals(new HashSet<>(Arrays.asList(0, 1, 2, 3)), coordinator.completed);
+        assertTrue(coordinator.released.isEmpty());
+    }
+
+    @Test
+    public void claimFailurePartwayReleasesEarlierClaims() {
+
+        MemoryCoordinator coordinator = new MemoryCoordinator(60000);
+        coordinator.failingClaim = 1;
+        try {
+            site.scan(plan(), coordinator, 2).iterator().hasNext();
+            fail("expected claim failure");
+        } catch(StatementExecutionException ex) {
+            assertTrue(ex.getCause() instanceof IOException);
+        }
+        assertEquals(Collections.singleton(0), coordinator.released);
+    }
+
+    @Test
+    public void failedScanReleasesClaimsNotCompleted() {
+
+        failingShelf = "c";
+        MemoryCoordinator coordinator = new MemoryCoordinator(60000);
+        try {
+            ids(site.scan(plan(), coordinator, 2).iterator());
+            fail("expected scan failure");
+        } catch(StatementExecutionException ex) {
+            // expected
+        }
+        assertTrue(coordinator.released.contains(2));
+        assertFalse(coordinator.completed.contains(2));
+        assertTrue(coordinator.claimed.isEmpty());
+    }
+
+    @Test
+    public void lostShardIsNoLongerScanned() throws InterruptedException {
+
+        // renewed on every call once a millisecond passed
+        MemoryCoordinator coordinator = new MemoryCoordinator(0);
+        coordinator.lost.add(0);
+        Iterator<Row> rows = site.scan(plan(), coordinator, 2).iterator();
+        List<UUID> ids = new ArrayList<>();
+        ids.add((UUID)rows.next().get("id"));
+        Thread.sleep(5);
+        ids.addAll(ids(rows));
+
+        assertTrue(ids.containsAll(library.ids("b", "c", "d")));
+        assertFalse(ids.containsAll(library.ids("a")));
+        assertFalse(coordinator.completed.contains(0));
+        assertFalse(coordinator.released.contains(0));
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), coordinator.completed);
+    }
+
+    @Test
+    public void workersShareShardsThroughFiles() throws IOException {
+
+        Path directory = Files.createTempDirectory("shards");
+        try {
+            FileShardCoordinator first = new FileShardCoordinator(directory, 1, TimeUnit.MINUTES);
+            FileShardCoordinator second = new FileShardCoordinator(directory, 1, TimeUnit.MINUTES);
+            assertTrue(first.claim("books", 3));
+
+            List<UUID> ids = ids(site.scan(plan(), second, 2).iterator());
+            assertEquals(new HashSet<>(library.ids("a", "b", "c")), new HashSet<>(ids));
+
+            // abandoned by the first worker
+            first.release("books", 3);
+            assertEquals(library.ids("d"), ids(site.scan(plan(), second, 2).iterator()));
+            assertFalse(site.scan(plan(), first, 2).iterator().hasNext());
+        } finally {
+            PageCheckpointsTest.delete(directory);
+        }
+    }
+
+    private ScanPlan plan() {
+        List<Map<String, Object>> partitions = new ArrayList<>();
+        for(String shelf : Arrays.asList("a", "b", "c", "d")) {
+            partitions.add(Collections.singletonMap("shelf", shelf));
+        }
+        return ScanPlan.byPartitions("books", book.get(book.getView("by_shelf")), partitions, 1);
+    }
+
+    private static List<UUID> ids(Iterator<Row> rows) {
+        List<UUID> ids = new ArrayList<>();
+        rows.forEachRemaining(row -> ids.add((UUID)row.get("id")));
+        return ids;
+    }
+
+    /**
+     * A coordinator of one worker, recording the state of each shard.
+     */
+    private static final class MemoryCoordinator implements ShardCoordinator {
+
+        private final long leaseMillis;
+        private final Set<Integer> claimed = new HashSet<>();
+        private final Set<Integer> completed = new HashSet<>();
+        private final Set<Integer> released = new HashSet<>();
+        private final Set<Integer> lost = new HashSet<>();
+        private int failingClaim = -1;
+
+        private MemoryCoordinator(long leaseMillis) {
+            this.leaseMillis = leaseMillis;
+        }
+
+        @Override
+        public boolean claim(String plan, int shard) throws IOException {
+            if(shard == failingClaim) {
+                throw new IOException("Coordinator unavailable");
+            }
+            return !completed.contains(shard) && claimed.add(shard);
+        }
+
+        @Override
+        public boolean renew(String plan, int shard) {
+            return claimed.contains(shard) && !lost.contains(shard);
+        }
+
+        @Override
+        public void release(String plan, int shard) {
+            if(claimed.remove(shard)) {
+                released.add(shard);
+            }
+        }
+
+        @Override
+        public void complete(String plan, int shard) {
+            if(!claimed.remove(shard)) {
+                throw new IllegalStateException("Shard " + shard + " not claimed");
+            }
+            completed.add(shard);
+        }
+
+        @Override
+        public long getLeaseMillis() {
+            return leaseMillis;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementExecutionException;
+import io.oopsie.sdk.transport.RequestMethod;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SingleFlightTest {
+
+    private FakeTransport transport;
+    private Site site;
+    private Resource book;
+
+    @Before
+    public void setUp() throws Exception {
+        transport = new FakeTransport(EntityCacheTest::respond);
+        site = transport.site();
+        site.setCoalescingRequests(true);
+        book = site.getApplication("shop").getResource("book");
+    }
+
+    @After
+    public void tearDown() {
+        site.close();
+    }
+
+    @Test
+    public void identicalReadsInFlightShareOneRequest() {
+
+        UUID id = UUID.randomUUID();
+        transport.hold();
+        CompletableFuture<ResultSet> first = site.executeAsync(book.get().withParam("id", id));
+        CompletableFuture<ResultSet> second = site.executeAsync(book.get().withParam("id", id));
+        assertEquals(1, transport.heldCount());
+        transport.releaseAll();
+
+        // each result iterates the shared rows on its own
+        assertEquals(1, first.join().all().size());
+        assertEquals(1, second.join().all().size());
+        assertEquals(1, transport.count(RequestMethod.GET));
+    }
+
+    @Test
+    public void readsOfOtherCallersAreNotShared() {
+
+        UUID id = UUID.randomUUID();
+        transport.hold();
+        site.executeAsync(book.get().withParam("id", id));
+        site.executeAsync(book.get().withParam("id", id), Arrays.asList("session=a", "token=a"));
+        transport.releaseAll();
+
+        assertEquals(2, transport.count(RequestMethod.GET));
+    }
+
+    @Test
+    public void readsAreNotSharedUnlessCoalescing() {
+
+        site.setCoalescingRequests(false);
+        UUID id = UUID.randomUUID();
+        transport.hold();
+        site.executeAsync(book.get().withParam("id", id));
+        site.executeAsync(book.get().withParam("id", id));
+        transport.releaseAll();
+
+        assertEquals(2, transport.count(RequestMethod.GET));
+    }
+
+    @Test
+    public void readAfterWriteDoesNotJoinReadSentBefore() {
+
+        UUID id = UUID.randomUUID();
+        transport.hold();
+        site.executeAsync(book.get().withParam("id", id));
+        site.execute(book.save().withParam("id", id).withParam("title", "changed"));
+        site.executeAsync(book.get().withParam("id", id));
+        assertEquals(2, transport.heldCount());
+        transport.releaseAll();
+    }
+
+    @Test
+    public void failureIsSharedAndForgotten() {
+
+        SingleFlight flights = new SingleFlight();
+        CompletableFuture<ResultDecoder> exchange = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+        CompletableFuture<ResultDecoder> first = flights.executeAsync("key", () -> {
+            started.incrementAndGet();
+            return exchange;
+        });
+        CompletableFuture<ResultDecoder> second = flights.executeAsync("key", () -> {
+            started.incrementAndGet();
+            return exchange;
+        });
+        assertSame(first, second);
+        exchange.completeExceptionally(new StatementExecutionException("failed"));
+
+        try {
+            second.join();
+            fail("expected failure");
+        } catch(CompletionException ex) {
+            assertTrue(ex.getCause() instanceof StatementExecutionException);
+        }
+        flights.executeAsync("key", () -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        assertEquals(2, started.get());
+    }
+}
@@ -0,0 +1,103 @@
+package io.oopsie.sdk;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SiteSnapshotTest {
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("snapshots");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        PageCheckpointsTest.delete(directory);
+    }
+
+    @Test
+    public void writtenSnapshotIsReadBack() throws IOException {
+
+        Path file = directory.resolve("site.snapshot");
+        SiteSnapshot.write(file, model());
+
+        assertEquals(model(), SiteSnapshot.read(file));
+        assertNull(SiteSnapshot.read(directory.resolve("missing.snapshot")));
+    }
+
+    @Test
+    public void truncatedSnapshotIsRejected() throws IOException {
+
+        Path file = directory.resolve("site.snapshot");
+        SiteSnapshot.write(file, model());
+        byte[] bytes = Files.readAllBytes(file);
+        for(int length = 0; length < bytes.length; length++) {
+            Files.write(file, Arrays.copyOf(bytes, length));
+            try {
+                SiteSnapshot.read(file);
+                fail("expected snapshot of " + length + " bytes to be rejected");
+            } catch(IOException ex) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void sizeLargerThanSnapshotIsRejected() throws IOException {
+
+        Path file = directory.resolve("site.snapshot");
+        // magic, version and a string table of Integer.MAX_VALUE strings
+        Files.write(file, new byte[] {0x4f, 0x4f, 0x50, 0x53, 1, (byte)0xff, (byte)0xff, (byte)0xff,
+                (byte)0xff, 0x07, 0});
+        try {
+            SiteSnapshot.read(file);
+            fail("expected corrupt snapshot");
+        } catch(IOException ex) {
+            assertEquals("Corrupt site snapshot", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void corruptSnapshotFallsBackToSite() throws Exception {
+
+        FakeTransport transport = new FakeTransport(EntityCacheTest::respond);
+        Site site = new Site("http://localhost:8080", UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(), "api-key");
+        site.setTransport(transport);
+        site.setSnapshotDirectory(directory);
+        Path file = SiteSnapshot.file(directory, site.getCustomerId(), site.getSiteId());
+        Files.write(file, new byte[] {0x4f, 0x4f, 0x50, 0x53, 1, (byte)0xff, (byte)0xff, (byte)0xff,
+                (byte)0xff, 0x07});
+        try {
+            site.init();
+
+            assertTrue(site.isInitialized());
+            assertEquals(1, transport.initCount());
+            assertNotNull(site.getApplication("shop").getResource("book"));
+            assertEquals(model(), SiteSnapshot.read(file));
+        } finally {
+            site.close();
+        }
+    }
+
+    private static Map<String, Object> model() throws IOException {
+        return Json.readMap(new ByteArrayInputStream(FakeTransport.MODEL.getBytes(StandardCharsets.UTF_8)));
+    }
+}
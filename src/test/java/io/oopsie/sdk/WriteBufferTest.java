@@ -0,0 +1,185 @@
+package io.oopsie.sdk;
+
+import io.oopsie.sdk.error.StatementExecutionException;
+import io.oopsie.sdk.transport.RequestMethod;
+import io.oopsie.sdk.transport.TransportRequest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WriteBufferTest {
+
+    private FakeTransport transport;
+    private Site site;
+    private Resource book;
+
+    @Before
+    public void setUp() throws Exception {
+        transport = new FakeTransport(EntityCacheTest::respond);
+        site = transport.site();
+        book = site.getApplication("shop").getResource("book");
+    }
+
+    @After
+    public void tearDown() {
+        site.close();
+    }
+
+    @Test
+    public void savesOfSameEntityAreMerged() {
+
+        WriteBuffer buffer = new WriteBuffer(site, 100, 1, TimeUnit.MINUTES, 2);
+        UUID id = UUID.randomUUID();
+        CompletableFuture<ResultSet> first = buffer.save(book.save().withParam("id", id).withParam("title", "a"));
+        CompletableFuture<ResultSet> second = buffer.save(book.save().withParam("id", id).withParam("pages", 10));
+        assertSame(first, second);
+        assertEquals(1, buffer.size());
+        buffer.flush().join();
+
+        assertEquals(1, transport.count(RequestMethod.PUT));
+        Map<String, Object> body = FakeTransport.body(transport.requests().get(0));
+        assertEquals("a", body.get("title"));
+        assertEquals(10, ((Number)body.get("pages")).intValue());
+    }
+
+    @Test
+    public void savesOfSameEntityRunInFlushOrder() throws InterruptedException {
+
+        WriteBuffer buffer = new WriteBuffer(site, 100, 1, TimeUnit.MINUTES, 2);
+        UUID id = UUID.randomUUID();
+        transport.hold();
+        buffer.save(book.save().withParam("id", id).withParam("title", "first"));
+        buffer.flush();
+        buffer.save(book.save().withParam("id", id).withParam("title", "second"));
+        CompletableFuture<Void> flushed = buffer.flush();
+        assertTrue(transport.awaitHeld(1));
+        // the second save waits for the first
+        Thread.sleep(20);
+        assertEquals(1, transport.heldCount());
+
+        transport.releaseUntilDone(flushed);
+        assertTrue(flushed.isDone());
+        assertEquals(Arrays.asList("first", "second"), titles());
+    }
+
+    @Test
+    public void overlappingFlushesShareConcurrency() throws InterruptedException {
+
+        WriteBuffer buffer = new WriteBuffer(site, 100, 1, TimeUnit.MINUTES, 2);
+        transport.hold();
+        List<CompletableFuture<Void>> flushes = new ArrayList<>();
+        for(int f = 0; f < 3; f++) {
+            for(int i = 0; i < 3; i++) {
+                buffer.save(book.save().withParam("id", UUID.randomUUID()).withParam("title", "t"));
+            }
+            flushes.add(buffer.flush());
+        }
+        CompletableFuture<Void> all = CompletableFuture.allOf(flushes.toArray(new CompletableFuture[0]));
+        transport.releaseUntilDone(all);
+
+        assertTrue(all.isDone());
+        assertEquals(9, transport.count(RequestMethod.PUT));
+        assertEquals(2, transport.maxInFlight());
+    }
+
+    @Test
+    public void reachingMaxPendingFlushes() {
+
+        WriteBuffer buffer = new WriteBuffer(site, 2, 1, TimeUnit.MINUTES, 2);
+        buffer.save(book.save().withParam("id", UUID.randomUUID()));
+        assertEquals(0, transport.count(RequestMethod.PUT));
+        buffer.save(book.save().withParam("id", UUID.randomUUID())).join();
+
+        assertEquals(2, transport.count(RequestMethod.PUT));
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void maxAgeFlushes() {
+
+        WriteBuffer buffer = new WriteBuffer(site, 100, 10, TimeUnit.MILLISECONDS, 2);
+        buffer.save(book.save().withParam("id", UUID.randomUUID())).join();
+
+        assertEquals(1, transport.count(RequestMethod.PUT));
+    }
+
+    @Test
+    public void discardFailsSavesNotStarted() {
+
+        WriteBuffer buffer = new WriteBuffer(site, 100, 1, TimeUnit.MINUTES, 1);
+        transport.hold();
+        CompletableFuture<ResultSet> started = buffer.save(book.save().withParam("id", UUID.randomUUID()));
+        CompletableFuture<ResultSet> queued = buffer.save(book.save().withParam("id", UUID.randomUUID()));
+        buffer.flush();
+        CompletableFuture<ResultSet> pending = buffer.save(book.save().withParam("id", UUID.randomUUID()));
+        buffer.discard();
+
+        assertFalse(started.isDone());
+        assertTrue(queued.isCompletedExceptionally());
+        assertTrue(pending.isCompletedExceptionally());
+        try {
+            buffer.save(book.save().withParam("id", UUID.randomUUID()));
+            fail("expected closed buffer");
+        } catch(StatementExecutionException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void closedBufferRejectsSavesWithoutPrimaryKey() {
+
+        WriteBuffer buffer = new WriteBuffer(site, 100, 1, TimeUnit.MINUTES, 1);
+        buffer.discard();
+        try {
+            buffer.save(book.save().withParam("title", "a"));
+            fail("expected closed buffer");
+        } catch(StatementExecutionException ex) {
+            // expected
+        }
+        assertTrue(transport.requests().isEmpty());
+    }
+
+    @Test
+    public void closingSiteFlushesBuffers() {
+
+        WriteBuffer buffer = site.createWriteBuffer(100, 1, TimeUnit.MINUTES);
+        CompletableFuture<ResultSet> saved = buffer.save(book.save().withParam("id", UUID.randomUUID()));
+
+        assertTrue(site.close(5, TimeUnit.SECONDS));
+        assertTrue(saved.isDone());
+        assertEquals(1, transport.count(RequestMethod.PUT));
+    }
+
+    @Test
+    public void closingSiteReportsSavesNotFlushedInTime() {
+
+        WriteBuffer buffer = site.createWriteBuffer(100, 1, TimeUnit.MINUTES);
+        transport.hold();
+        CompletableFuture<ResultSet> saved = buffer.save(book.save().withParam("id", UUID.randomUUID()));
+
+        assertFalse(site.close(50, TimeUnit.MILLISECONDS));
+        assertFalse(saved.isDone());
+        transport.releaseAll();
+    }
+
+    private List<Object> titles() {
+        List<Object> titles = new ArrayList<>();
+        for(TransportRequest request : transport.requests()) {
+            titles.add(FakeTransport.body(request).get("title"));
+        }
+        return titles;
+    }
+}